@@ -35,6 +35,9 @@ public class AlaudaSyncGlobalConfiguration extends GlobalConfiguration {
   private int resyncPeriod = 0;
   private transient String errorMsg;
   private String jobNamePattern;
+  private boolean watchActivePipelinesOnly = false;
+  private boolean compressStages = false;
+  private boolean asyncPipelineCreation = false;
 
   public AlaudaSyncGlobalConfiguration() {
     this.load();
@@ -54,13 +57,15 @@ public class AlaudaSyncGlobalConfiguration extends GlobalConfiguration {
   public boolean configure(StaplerRequest req, JSONObject json) {
     String jenkinsServiceBefore = jenkinsService;
     boolean enabledBefore = enabled;
+    boolean watchActivePipelinesOnlyBefore = watchActivePipelinesOnly;
 
     req.bindJSON(this, json);
     this.save();
 
     if (jenkinsService != null
         && jenkinsService.equals(jenkinsServiceBefore)
-        && enabled == enabledBefore) {
+        && enabled == enabledBefore
+        && watchActivePipelinesOnly == watchActivePipelinesOnlyBefore) {
       return true;
     }
 
@@ -117,6 +122,53 @@ public class AlaudaSyncGlobalConfiguration extends GlobalConfiguration {
     this.resyncPeriod = resyncPeriod;
   }
 
+  /**
+   * Whether the Pipeline informer should only watch Pipelines that are not completed. Completed
+   * Pipelines will be fetched from devops-apiserver on demand.
+   *
+   * @return true if only not completed Pipelines should be cached
+   */
+  public boolean isWatchActivePipelinesOnly() {
+    return watchActivePipelinesOnly;
+  }
+
+  @DataBoundSetter
+  public void setWatchActivePipelinesOnly(boolean watchActivePipelinesOnly) {
+    this.watchActivePipelinesOnly = watchActivePipelinesOnly;
+  }
+
+  /**
+   * Whether the stages in Pipeline status should be gzip compressed and encoded in base64. This
+   * will reduce the size of Pipelines which have hundreds of stages, but consumers of stages must
+   * be able to decode them.
+   *
+   * @return true if stages should be compressed
+   */
+  public boolean isCompressStages() {
+    return compressStages;
+  }
+
+  @DataBoundSetter
+  public void setCompressStages(boolean compressStages) {
+    this.compressStages = compressStages;
+  }
+
+  /**
+   * Whether Pipelines of builds triggered in Jenkins should be created asynchronously. The queue
+   * won't wait for devops-apiserver when scheduling, the build will be scheduled once its Pipeline
+   * is created.
+   *
+   * @return true if Pipelines should be created asynchronously
+   */
+  public boolean isAsyncPipelineCreation() {
+    return asyncPipelineCreation;
+  }
+
+  @DataBoundSetter
+  public void setAsyncPipelineCreation(boolean asyncPipelineCreation) {
+    this.asyncPipelineCreation = asyncPipelineCreation;
+  }
+
   public FormValidation doCheckResyncPeriod(@QueryParameter String value) {
     try {
       int minute = Integer.parseInt(value);
@@ -0,0 +1,185 @@
+package io.alauda.jenkins.devops.sync;
+
+import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_LABELS_SYNC_COMPLETED;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.TaskListener;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import io.alauda.devops.java.client.apis.DevopsAlaudaIoV1alpha1Api;
+import io.alauda.devops.java.client.models.V1alpha1Pipeline;
+import io.alauda.devops.java.client.models.V1alpha1PipelineList;
+import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.client.PipelineClient;
+import io.alauda.jenkins.devops.sync.controller.ResourceControllerManager;
+import io.alauda.jenkins.devops.sync.util.JenkinsUtils;
+import io.alauda.jenkins.devops.sync.util.PipelineUtils;
+import io.kubernetes.client.ApiException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import jenkins.model.Jenkins;
+import org.apache.commons.lang.StringUtils;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * When only active Pipelines are watched, completed Pipelines are not in the informer, so their
+ * deletions won't be received by PipelineController. This check deletes completed builds whose
+ * Pipelines no longer exist in devops-apiserver.
+ *
+ * <p>Only the last {@value #RECENT_BUILDS_PER_JOB} builds of each job are checked so that the
+ * records of old builds won't be loaded, and completed Pipelines are only listed in namespaces
+ * which have builds to check.
+ */
+@Extension
+public class CompletedPipelineOrphanCheck extends AsyncPeriodicWork {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CompletedPipelineOrphanCheck.class);
+  private static final int LIST_PAGE_SIZE = 500;
+  private static final int RECENT_BUILDS_PER_JOB = 10;
+
+  public CompletedPipelineOrphanCheck() {
+    super("CompletedPipelineOrphanCheck");
+  }
+
+  @Override
+  protected void execute(TaskListener listener) {
+    if (!AlaudaSyncGlobalConfiguration.get().isWatchActivePipelinesOnly()) {
+      return;
+    }
+
+    ResourceControllerManager resourceControllerManager =
+        ResourceControllerManager.getControllerManager();
+    if (!resourceControllerManager.isStarted()) {
+      LOGGER.info(
+          "SyncManager has not started yet, reason {}, will skip this completed Pipeline check",
+          resourceControllerManager.getManagerStatus());
+      return;
+    }
+
+    try (ACLContext ignore = ACL.as(ACL.SYSTEM)) {
+      List<WorkflowRun> orphanRuns = new ArrayList<>();
+      findCandidateRuns()
+          .forEach((namespace, runs) -> orphanRuns.addAll(findOrphanRuns(namespace, runs)));
+      LOGGER.info("Start to remove orphan builds, total numbers {}.", orphanRuns.size());
+      orphanRuns.forEach(JenkinsUtils::deleteRun);
+    }
+  }
+
+  /**
+   * Find the recent completed builds whose Pipelines are not in the lister
+   *
+   * @return builds grouped by namespace of their Pipelines
+   */
+  private Map<String, List<WorkflowRun>> findCandidateRuns() {
+    PipelineClient pipelineClient = (PipelineClient) Clients.get(V1alpha1Pipeline.class);
+
+    Map<String, List<WorkflowRun>> candidates = new HashMap<>();
+    for (WorkflowJob job : Jenkins.getInstance().getAllItems(WorkflowJob.class)) {
+      // builds are loaded lazily, limit them so that old builds won't be loaded into memory
+      for (WorkflowRun run : job.getBuilds().limit(RECENT_BUILDS_PER_JOB)) {
+        if (run.isBuilding()) {
+          continue;
+        }
+
+        JenkinsPipelineCause cause = PipelineUtils.findAlaudaCause(run);
+        if (cause == null
+            || pipelineClient.lister().namespace(cause.getNamespace()).get(cause.getName())
+                != null) {
+          continue;
+        }
+
+        candidates.computeIfAbsent(cause.getNamespace(), ns -> new ArrayList<>()).add(run);
+      }
+    }
+    return candidates;
+  }
+
+  private List<WorkflowRun> findOrphanRuns(String namespace, List<WorkflowRun> runs) {
+    Set<String> completedPipelines;
+    try {
+      completedPipelines = listCompletedPipelines(namespace);
+    } catch (ApiException e) {
+      LOGGER.warn(
+          "Unable to list completed Pipelines in namespace {}, will skip it, reason: {}, body: {}",
+          namespace,
+          e.getMessage(),
+          e.getResponseBody());
+      return Collections.emptyList();
+    }
+
+    PipelineClient pipelineClient = (PipelineClient) Clients.get(V1alpha1Pipeline.class);
+    List<WorkflowRun> orphanRuns = new ArrayList<>();
+    for (WorkflowRun run : runs) {
+      String name = PipelineUtils.findAlaudaCause(run).getName();
+      if (completedPipelines.contains(name)) {
+        continue;
+      }
+
+      // the Pipeline might be created or completed after listed, confirm it before deleting
+      try {
+        if (!pipelineClient.existsInApiServer(namespace, name)) {
+          LOGGER.info(
+              "Pipeline '{}/{}' was deleted, will delete its build {}",
+              namespace,
+              name,
+              run.getFullDisplayName());
+          orphanRuns.add(run);
+        }
+      } catch (ApiException e) {
+        LOGGER.info(
+            "Unable to check if Pipeline '{}/{}' exists, reason: {}",
+            namespace,
+            name,
+            e.getMessage());
+      }
+    }
+    return orphanRuns;
+  }
+
+  private Set<String> listCompletedPipelines(String namespace) throws ApiException {
+    String labelSelector =
+        "jenkins="
+            + AlaudaSyncGlobalConfiguration.get().getJenkinsService()
+            + ","
+            + PIPELINE_LABELS_SYNC_COMPLETED;
+
+    DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
+    Set<String> pipelines = new HashSet<>();
+    String continueToken = null;
+    do {
+      V1alpha1PipelineList list =
+          api.listNamespacedPipeline(
+              namespace,
+              null,
+              null,
+              continueToken,
+              null,
+              labelSelector,
+              LIST_PAGE_SIZE,
+              null,
+              null,
+              null);
+      for (V1alpha1Pipeline pipeline : list.getItems()) {
+        pipelines.add(pipeline.getMetadata().getName());
+      }
+      continueToken = list.getMetadata() == null ? null : list.getMetadata().getContinue();
+    } while (StringUtils.isNotEmpty(continueToken));
+
+    return pipelines;
+  }
+
+  @Override
+  public long getRecurrencePeriod() {
+    return TimeUnit.MINUTES.toMillis(30);
+  }
+}
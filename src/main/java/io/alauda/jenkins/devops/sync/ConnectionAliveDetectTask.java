@@ -5,15 +5,20 @@ import hudson.ExtensionList;
 import hudson.ExtensionPoint;
 import hudson.model.AsyncPeriodicWork;
 import hudson.model.TaskListener;
+import io.alauda.jenkins.devops.sync.client.InformerWatchHealth;
+import io.alauda.jenkins.devops.sync.controller.ResourceController;
 import io.alauda.jenkins.devops.sync.controller.ResourceControllerManager;
 import io.kubernetes.client.ApiException;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.CheckForNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,28 +51,29 @@ public class ConnectionAliveDetectTask extends AsyncPeriodicWork {
               heartbeatLostCount.putIfAbsent(detector, new AtomicInteger(0));
 
               LocalDateTime lastEventComingTime = detector.lastEventComingTime();
+              InformerWatchHealth watchHealth = detector.watchHealth();
               // controller might not be initialized, or no resource exist in k8s so that we cannot
               // receive event
               if (lastEventComingTime == null) {
-                try {
-                  // if there has resource exists but we didn't receive any event, the watch
-                  // connection might be broken
-                  if (detector.hasResourceExists()) {
-                    int count = heartbeatLostCount.get(detector).incrementAndGet();
-                    logger.warn(
-                        "The watch connection of resource {} seems broken, retry count {}",
-                        detector.resourceName(),
-                        count);
-                  } else {
-                    logger.debug(
-                        "There are no resource {} exists in k8s, will skip this check for it",
-                        detector.resourceName());
-                  }
-                } catch (ApiException e) {
+                // if the informer didn't finish its list, the watch connection might be broken
+                if (watchHealth != null && !watchHealth.hasSynced()) {
+                  int count = heartbeatLostCount.get(detector).incrementAndGet();
                   logger.warn(
-                      "Unable to check if resource {} exists in k8s, will skip this check for it, reason: {}",
+                      "The watch connection of resource {} seems broken, informer not synced, reflector errors {}, retry count {}",
                       detector.resourceName(),
-                      e);
+                      watchHealth.getReflectorErrorCount(),
+                      count);
+                } else if (watchHealth == null && hasResourceExists(detector)) {
+                  // detectors that don't track their informer still rely on listing resources
+                  int count = heartbeatLostCount.get(detector).incrementAndGet();
+                  logger.warn(
+                      "The watch connection of resource {} seems broken, retry count {}",
+                      detector.resourceName(),
+                      count);
+                } else {
+                  logger.debug(
+                      "There are no resource {} exists in k8s, will skip this check for it",
+                      detector.resourceName());
                 }
                 return;
               }
@@ -81,17 +87,20 @@ public class ConnectionAliveDetectTask extends AsyncPeriodicWork {
                 int count = heartbeatLostCount.get(detector).incrementAndGet();
                 logger.warn(
                     "The watch connection of resource {} seems broken, "
-                        + "last event coming at {}, time since last event coming {}s, retry count {}",
+                        + "last event coming at {}, time since last event coming {}s, "
+                        + "last watch started at {}, reflector errors {}, retry count {}",
                     detector.resourceName(),
                     lastEventComingTime,
                     elapsed.getSeconds(),
+                    watchHealth == null ? null : watchHealth.getLastWatchStartTime(),
+                    watchHealth == null ? 0 : watchHealth.getReflectorErrorCount(),
                     count);
               } else {
                 heartbeatLostCount.get(detector).set(0);
               }
             });
 
-    boolean needToReconnect = false;
+    List<HeartbeatResourceDetector> brokenDetectors = new LinkedList<>();
     for (Map.Entry<HeartbeatResourceDetector, AtomicInteger> entry :
         heartbeatLostCount.entrySet()) {
       AtomicInteger count = entry.getValue();
@@ -100,14 +109,34 @@ public class ConnectionAliveDetectTask extends AsyncPeriodicWork {
         logger.warn(
             "The watch connection of resource {} is broken, will try to reestablish connection",
             entry.getKey().resourceName());
-        needToReconnect = true;
-        break;
+        brokenDetectors.add(entry.getKey());
+      }
+    }
+
+    // only restart the controllers whose watch connection is broken, so that the other informers
+    // don't need to list all resources again
+    for (HeartbeatResourceDetector detector : brokenDetectors) {
+      heartbeatLostCount.remove(detector);
+      if (detector instanceof ResourceController) {
+        ResourceControllerManager.getControllerManager().restart((ResourceController) detector);
+      } else {
+        heartbeatLostCount.clear();
+        ResourceControllerManager.getControllerManager().restart();
+        return;
       }
     }
+  }
 
-    if (needToReconnect) {
-      heartbeatLostCount.clear();
-      ResourceControllerManager.getControllerManager().restart();
+  @SuppressWarnings("deprecation")
+  private boolean hasResourceExists(HeartbeatResourceDetector detector) {
+    try {
+      return detector.hasResourceExists();
+    } catch (ApiException e) {
+      logger.warn(
+          "Unable to check if resource {} exists in k8s, will skip this check for it, reason: {}",
+          detector.resourceName(),
+          e);
+      return false;
     }
   }
 
@@ -118,11 +147,30 @@ public class ConnectionAliveDetectTask extends AsyncPeriodicWork {
 
   /** Resource that has heartbeat task to update in server-end */
   public interface HeartbeatResourceDetector extends ExtensionPoint {
-    LocalDateTime lastEventComingTime();
-
     String resourceName();
 
-    boolean hasResourceExists() throws ApiException;
+    /** Health of the watch connection, it is tracked by the informer of the resource */
+    @CheckForNull
+    default InformerWatchHealth watchHealth() {
+      return null;
+    }
+
+    @CheckForNull
+    default LocalDateTime lastEventComingTime() {
+      InformerWatchHealth watchHealth = watchHealth();
+      return watchHealth == null ? null : watchHealth.getLastEventComingTime();
+    }
+
+    /**
+     * Only used when {@link #watchHealth()} returns null.
+     *
+     * @deprecated implement {@link #watchHealth()} instead, so that we don't need to send requests
+     *     to apiserver to check the watch connection
+     */
+    @Deprecated
+    default boolean hasResourceExists() throws ApiException {
+      return false;
+    }
 
     static ExtensionList<HeartbeatResourceDetector> all() {
       return ExtensionList.lookup(HeartbeatResourceDetector.class);
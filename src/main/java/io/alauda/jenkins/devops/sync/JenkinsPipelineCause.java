@@ -16,11 +16,14 @@
 package io.alauda.jenkins.devops.sync;
 
 import static io.alauda.jenkins.devops.sync.constants.Constants.ALAUDA_DEVOPS_ANNOTATIONS_COMMIT;
+import static io.alauda.jenkins.devops.sync.constants.Constants.ALAUDA_SYNC_PLUGIN;
+import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_CREATED_BY;
 
 import hudson.model.Cause;
 import io.alauda.devops.java.client.models.V1alpha1Pipeline;
 import io.kubernetes.client.models.V1ObjectMeta;
 import java.util.Objects;
+import javax.annotation.CheckForNull;
 import org.apache.commons.lang.StringUtils;
 
 public class JenkinsPipelineCause extends Cause {
@@ -33,6 +36,9 @@ public class JenkinsPipelineCause extends Cause {
   private int numStages = -1;
   private int numFlowNodes = -1;
   private long lastUpdateToAlaudaDevOps = -1;
+  // whether the Pipeline was created by this plugin for a build triggered in Jenkins, it is
+  // recorded when the build is bound so that it is still known after the Pipeline is deleted
+  @CheckForNull private Boolean createdByJenkins;
 
   public JenkinsPipelineCause(
       String uid,
@@ -74,6 +80,9 @@ public class JenkinsPipelineCause extends Cause {
     uid = meta.getUid();
     namespace = meta.getNamespace();
     name = meta.getName();
+    createdByJenkins =
+        meta.getLabels() != null
+            && ALAUDA_SYNC_PLUGIN.equals(meta.getLabels().get(PIPELINE_CREATED_BY));
 
     if (pipeline.getSpec() != null) {
       if (pipeline.getSpec().getSource() != null
@@ -135,6 +144,12 @@ public class JenkinsPipelineCause extends Cause {
     return pipelineConfigUid;
   }
 
+  /** @return null if the cause was recorded before this is tracked */
+  @CheckForNull
+  public Boolean getCreatedByJenkins() {
+    return createdByJenkins;
+  }
+
   public int getNumStages() {
     return numStages;
   }
@@ -15,21 +15,39 @@
  */
 package io.alauda.jenkins.devops.sync;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import hudson.Extension;
+import hudson.init.Terminator;
 import hudson.model.*;
+import hudson.model.queue.CauseOfBlockage;
+import hudson.model.queue.QueueTaskDispatcher;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
 import io.alauda.devops.java.client.models.V1alpha1Pipeline;
 import io.alauda.devops.java.client.models.V1alpha1PipelineConfig;
 import io.alauda.jenkins.devops.sync.action.AlaudaQueueAction;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.listener.PipelineQueueIndex;
 import io.alauda.jenkins.devops.sync.listener.PipelineSyncExecutor;
+import io.alauda.jenkins.devops.sync.util.NamespaceName;
 import io.alauda.jenkins.devops.sync.util.PipelineGenerator;
 import io.alauda.jenkins.devops.sync.util.PipelineToActionMapper;
+import io.alauda.jenkins.devops.sync.util.PipelineUtils;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import jenkins.branch.MultiBranchProject;
+import jenkins.model.Jenkins;
 import org.apache.commons.lang.StringUtils;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
@@ -44,6 +62,27 @@ public class PipelineDecisionHandler extends Queue.QueueDecisionHandler {
 
   private static final Logger LOGGER = Logger.getLogger(PipelineDecisionHandler.class.getName());
 
+  private static final int PIPELINE_CREATION_WORKER_COUNT = 4;
+  // Pipelines will be created in the queue thread once the pool is full
+  private static final int PIPELINE_CREATION_QUEUE_SIZE = 1000;
+
+  private static final ThreadPoolExecutor pipelineCreationPool =
+      new ThreadPoolExecutor(
+          PIPELINE_CREATION_WORKER_COUNT,
+          PIPELINE_CREATION_WORKER_COUNT,
+          0L,
+          TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(PIPELINE_CREATION_QUEUE_SIZE),
+          new ThreadFactoryBuilder()
+              .setNameFormat("PipelineCreationWorker-%d")
+              .setDaemon(true)
+              .build());
+
+  // pending ids of the queue items whose Pipeline is being created
+  private static final Set<String> pendingPipelines = ConcurrentHashMap.newKeySet();
+
+  private static final CauseOfBlockage WAITING_FOR_PIPELINE = new WaitingForPipeline();
+
   @Override
   public boolean shouldSchedule(Queue.Task p, List<Action> actions) {
     if (!(p instanceof WorkflowJob)) {
@@ -91,19 +130,62 @@ public class PipelineDecisionHandler extends Queue.QueueDecisionHandler {
       return false;
     }
 
+    if (AlaudaSyncGlobalConfiguration.get().isAsyncPipelineCreation()) {
+      // copy actions as the list belongs to the queue
+      List<Action> pendingActions = new ArrayList<>(actions);
+      AlaudaQueueAction placeholder = AlaudaQueueAction.placeholder();
+      String pendingId = placeholder.getPendingId();
+      final V1alpha1PipelineConfig pipelineConfig = config;
+
+      pendingPipelines.add(pendingId);
+      try {
+        pipelineCreationPool.execute(
+            () ->
+                createPipelineAndBind(
+                    workflowJob, pipelineConfig, jobURL, pendingId, pendingActions));
+        // the item will be held by PendingPipelineDispatcher until its Pipeline is created
+        actions.add(placeholder);
+        LOGGER.fine(() -> "Pipeline of task " + taskName + " will be created asynchronously");
+        return true;
+      } catch (RejectedExecutionException e) {
+        pendingPipelines.remove(pendingId);
+        LOGGER.fine(() -> "Pipeline creation pool is full, will create Pipeline of " + taskName);
+      }
+    }
+
+    return bindPipeline(workflowJob, config, jobURL, actions) != null;
+  }
+
+  /**
+   * Create a Pipeline for the build and bind the build to it by adding actions, the actions which
+   * should be kept by the build will be stored in {@link PipelineToActionMapper}
+   *
+   * @return actions added to bind the build to the Pipeline, null if the Pipeline is not created
+   */
+  @CheckForNull
+  private List<Action> bindPipeline(
+      WorkflowJob workflowJob, V1alpha1PipelineConfig config, String jobURL, List<Action> actions) {
+    String namespace = config.getMetadata().getNamespace();
+    String taskName = workflowJob.getName();
+
     V1alpha1Pipeline pipeline =
         PipelineGenerator.buildPipeline(config, workflowJob, jobURL, actions);
     if (pipeline == null) {
-      return false;
+      return null;
     }
 
-    actions.add(new CauseAction(new JenkinsPipelineCause(pipeline, config.getMetadata().getUid())));
-    actions.add(new AlaudaQueueAction(namespace, pipeline.getMetadata().getName()));
+    List<Action> boundActions = new ArrayList<>();
+    boundActions.add(
+        new CauseAction(new JenkinsPipelineCause(pipeline, config.getMetadata().getUid())));
+    boundActions.add(
+        new AlaudaQueueAction(
+            namespace, pipeline.getMetadata().getName(), pipeline.getMetadata().getUid()));
+    actions.addAll(boundActions);
 
     ParametersAction params = dumpParams(actions);
     if (params != null) {
       LOGGER.fine(() -> "ParametersAction: " + params.toString());
-      PipelineToActionMapper.addParameterAction(pipeline.getMetadata().getName(), params);
+      PipelineToActionMapper.addParameterAction(pipeline.getMetadata().getUid(), params);
     } else {
       LOGGER.log(Level.FINE, "The param is null in task : {0}", taskName);
     }
@@ -126,12 +208,187 @@ public class PipelineDecisionHandler extends Queue.QueueDecisionHandler {
       }
 
       PipelineToActionMapper.addCauseAction(
-          pipeline.getMetadata().getName(), new CauseAction(causes));
+          pipeline.getMetadata().getUid(), new CauseAction(causes));
     } else {
       LOGGER.fine(() -> "Get null CauseAction in task : " + taskName);
     }
 
-    return true;
+    return boundActions;
+  }
+
+  private void createPipelineAndBind(
+      WorkflowJob workflowJob,
+      V1alpha1PipelineConfig config,
+      String jobURL,
+      String pendingId,
+      List<Action> actions) {
+    try (ACLContext ignore = ACL.as(ACL.SYSTEM)) {
+      List<Action> boundActions = null;
+      try {
+        boundActions = bindPipeline(workflowJob, config, jobURL, actions);
+      } catch (RuntimeException e) {
+        LOGGER.log(
+            Level.WARNING,
+            e,
+            () -> "Failed to create Pipeline for task " + workflowJob.getFullName());
+      }
+
+      final List<Action> actionsToBind = boundActions;
+      AtomicBoolean itemLeft = new AtomicBoolean(false);
+      // the queue item might move to another state, hold the lock so that actions won't be lost
+      Queue.withLock(
+          () -> {
+            Queue.Item item = getPendingItem(workflowJob, pendingId);
+            if (item == null) {
+              LOGGER.warning(
+                  () -> "Queue item of task " + workflowJob.getFullName() + " has left the queue");
+              itemLeft.set(true);
+              return;
+            }
+
+            if (actionsToBind == null) {
+              LOGGER.warning(
+                  () ->
+                      "Unable to create Pipeline for task "
+                          + workflowJob.getFullName()
+                          + ", will cancel its queue item");
+              Jenkins.getInstance().getQueue().cancel(item);
+              return;
+            }
+
+            for (Action action : actionsToBind) {
+              if (action instanceof CauseAction) {
+                // keep the causes of the item, otherwise the cause of user will be lost
+                List<Cause> causes = new ArrayList<>();
+                item.getActions(CauseAction.class)
+                    .forEach(causeAction -> causes.addAll(causeAction.getCauses()));
+                causes.addAll(((CauseAction) action).getCauses());
+                item.replaceAction(new CauseAction(causes));
+              } else {
+                // the placeholder will be replaced by the AlaudaQueueAction of Pipeline
+                item.replaceAction(action);
+              }
+            }
+            PipelineQueueIndex.index(item);
+          });
+
+      if (itemLeft.get() && actionsToBind != null) {
+        discardPipeline(actionsToBind);
+      }
+    } finally {
+      pendingPipelines.remove(pendingId);
+      Jenkins.getInstance().getQueue().scheduleMaintenance();
+    }
+  }
+
+  /**
+   * Delete the Pipeline whose queue item was cancelled while the Pipeline was being created,
+   * nobody will trigger it as it was created by Jenkins
+   */
+  private void discardPipeline(List<Action> boundActions) {
+    for (Action action : boundActions) {
+      if (!(action instanceof AlaudaQueueAction)) {
+        continue;
+      }
+
+      AlaudaQueueAction queueAction = (AlaudaQueueAction) action;
+      NamespaceName pipeline = queueAction.getMappedPipelineNamespaceName();
+      PipelineToActionMapper.removeActions(queueAction.getMappedPipelineUid());
+      if (pipeline == null) {
+        return;
+      }
+
+      LOGGER.info(
+          () ->
+              "Will delete Pipeline "
+                  + pipeline.getNamespace()
+                  + "/"
+                  + pipeline.getName()
+                  + " as its queue item has left the queue");
+      PipelineUtils.delete(pipeline.getNamespace(), pipeline.getName());
+      return;
+    }
+  }
+
+  @CheckForNull
+  private static Queue.Item getPendingItem(WorkflowJob workflowJob, String pendingId) {
+    for (Queue.Item item : Jenkins.getInstance().getQueue().getItems(workflowJob)) {
+      AlaudaQueueAction action = item.getAction(AlaudaQueueAction.class);
+      if (action != null && pendingId.equals(action.getPendingId())) {
+        return item;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Cancel the item whose Pipeline creation was lost, e.g. Jenkins restarted before the Pipeline
+   * was created. It is done in the pool as the queue is being maintained when we find it.
+   */
+  private static void cancelLostItem(Queue.Item item, String pendingId) {
+    if (!pendingPipelines.add(pendingId)) {
+      return;
+    }
+
+    long id = item.getId();
+    try {
+      pipelineCreationPool.execute(
+          () -> {
+            try (ACLContext ignore = ACL.as(ACL.SYSTEM)) {
+              Queue queue = Jenkins.getInstance().getQueue();
+              Queue.Item lostItem = queue.getItem(id);
+              if (lostItem != null) {
+                LOGGER.warning(
+                    () ->
+                        "Pipeline of queue item "
+                            + lostItem.task.getFullDisplayName()
+                            + " was not created, will cancel it");
+                queue.cancel(lostItem);
+              }
+            } finally {
+              pendingPipelines.remove(pendingId);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      // will retry in next maintenance of queue
+      pendingPipelines.remove(pendingId);
+    }
+  }
+
+  @Terminator
+  public static void shutdownPipelineCreationPool() throws InterruptedException {
+    pipelineCreationPool.shutdown();
+    // items whose Pipeline is not created will be cancelled after Jenkins restarted
+    if (!pipelineCreationPool.awaitTermination(10, TimeUnit.SECONDS)) {
+      LOGGER.warning("Timeout to wait for Pipeline creation workers to finish");
+    }
+  }
+
+  /** Holds the items whose Pipeline is being created asynchronously */
+  @Extension
+  public static class PendingPipelineDispatcher extends QueueTaskDispatcher {
+
+    @CheckForNull
+    @Override
+    public CauseOfBlockage canRun(Queue.Item item) {
+      AlaudaQueueAction action = item.getAction(AlaudaQueueAction.class);
+      if (action == null || !action.isPending()) {
+        return null;
+      }
+
+      String pendingId = action.getPendingId();
+      if (!pendingPipelines.contains(pendingId)) {
+        cancelLostItem(item, pendingId);
+      }
+      return WAITING_FOR_PIPELINE;
+    }
+  }
+
+  private static class WaitingForPipeline extends CauseOfBlockage {
+    @Override
+    public String getShortDescription() {
+      return "Waiting for Pipeline to be created";
+    }
   }
 
   private boolean checkMultiBranchJobValid(WorkflowJob workflowJob) {
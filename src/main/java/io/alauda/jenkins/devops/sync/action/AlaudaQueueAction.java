@@ -4,6 +4,7 @@ import hudson.model.Action;
 import hudson.model.Queue;
 import io.alauda.jenkins.devops.sync.util.NamespaceName;
 import java.util.List;
+import java.util.UUID;
 import javax.annotation.CheckForNull;
 import org.kohsuke.stapler.export.ExportedBean;
 import org.slf4j.Logger;
@@ -13,20 +14,47 @@ import org.slf4j.LoggerFactory;
 public class AlaudaQueueAction implements Queue.QueueAction {
   private static final Logger logger = LoggerFactory.getLogger(AlaudaQueueAction.class);
 
-  private NamespaceName mappedPipelineNamespaceName;
+  @CheckForNull private NamespaceName mappedPipelineNamespaceName;
+  // uid of the Pipeline, a Pipeline re-created with the same name is a different Pipeline
+  @CheckForNull private String mappedPipelineUid;
+  // only set on placeholders, identifies the item whose Pipeline is being created
+  @CheckForNull private String pendingId;
+
+  private AlaudaQueueAction() {
+    this.pendingId = UUID.randomUUID().toString();
+  }
 
   public AlaudaQueueAction(String pipelineNamespace, String pipelineName) {
+    this(pipelineNamespace, pipelineName, null);
+  }
+
+  public AlaudaQueueAction(
+      String pipelineNamespace, String pipelineName, @CheckForNull String pipelineUid) {
     this.mappedPipelineNamespaceName = new NamespaceName(pipelineNamespace, pipelineName);
+    this.mappedPipelineUid = pipelineUid;
+  }
+
+  /**
+   * Create a placeholder for an item whose Pipeline is still being created, it will be replaced by
+   * the action of the created Pipeline. Items with a placeholder are held in the queue until then.
+   */
+  public static AlaudaQueueAction placeholder() {
+    return new AlaudaQueueAction();
   }
 
+  /**
+   * Jenkins asks the QueueActions of both the queued item and the new item, and folds the new item
+   * into the queued item of the same job only when every one of them returns false. We return true
+   * for different Pipelines, so builds of different Pipelines will never be merged and their
+   * causes won't be added to each other. For the same Pipeline we return false, the item is folded
+   * only if other QueueActions, e.g. ParametersAction, agree with it.
+   */
   @Override
   public boolean shouldSchedule(List<Action> actionsOfItemWillBeQueued) {
     for (Action action : actionsOfItemWillBeQueued) {
       if (action instanceof AlaudaQueueAction) {
         // if there is a same pipeline queued, we should not queue it again
-        if (((AlaudaQueueAction) action)
-            .getMappedPipelineNamespaceName()
-            .equals(this.mappedPipelineNamespaceName)) {
+        if (isSamePipeline((AlaudaQueueAction) action)) {
           logger.info(
               "Pipeline '{}/{}' has already been added to build queue, won't schedule a new build.",
               mappedPipelineNamespaceName.getNamespace(),
@@ -38,6 +66,20 @@ public class AlaudaQueueAction implements Queue.QueueAction {
     return true;
   }
 
+  private boolean isSamePipeline(AlaudaQueueAction other) {
+    // the Pipeline of a placeholder is unknown, it must be a different build
+    if (isPending() || other.isPending()) {
+      return false;
+    }
+    if (!other.getMappedPipelineNamespaceName().equals(this.mappedPipelineNamespaceName)) {
+      return false;
+    }
+    // actions created before uid is recorded only have namespace and name
+    return other.getMappedPipelineUid() == null
+        || this.mappedPipelineUid == null
+        || other.getMappedPipelineUid().equals(this.mappedPipelineUid);
+  }
+
   @CheckForNull
   @Override
   public String getIconFileName() {
@@ -56,7 +98,22 @@ public class AlaudaQueueAction implements Queue.QueueAction {
     return "alaudaAction";
   }
 
+  @CheckForNull
   public NamespaceName getMappedPipelineNamespaceName() {
     return mappedPipelineNamespaceName;
   }
+
+  @CheckForNull
+  public String getMappedPipelineUid() {
+    return mappedPipelineUid;
+  }
+
+  public boolean isPending() {
+    return pendingId != null;
+  }
+
+  @CheckForNull
+  public String getPendingId() {
+    return pendingId;
+  }
 }
@@ -0,0 +1,100 @@
+package io.alauda.jenkins.devops.sync.client;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import io.alauda.devops.java.client.models.V1alpha1Pipeline;
+import io.alauda.devops.java.client.models.V1alpha1PipelineConfig;
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.models.V1ObjectMeta;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Strips fields that sync plugin never reads from Pipelines and PipelineConfigs, so that the
+ * steady-state heap of informer cache and the cost of deep copies will be reduced.
+ *
+ * <p>Objects are compacted when they are decoded by the client of informers, which happens before
+ * informers index them, so objects in informer cache are never modified after they are published.
+ * Only fields that sync plugin never sets are stripped, as we always generate JSON patch between
+ * the cached object and its copy, stripped fields won't appear in patches. Stages and status json
+ * are kept, otherwise every patch would send them again.
+ */
+public final class InformerCacheCompactor {
+
+  private static final String LAST_APPLIED_CONFIGURATION_ANNOTATION =
+      "kubectl.kubernetes.io/last-applied-configuration";
+
+  private InformerCacheCompactor() {}
+
+  /**
+   * Create a client for informers to decode responses, Pipelines and PipelineConfigs decoded by it
+   * will be compacted. It shares the connection of the given client but has its own JSON, so other
+   * users of the given client are not affected.
+   *
+   * @param apiClient client which informers send requests with
+   * @return client which informers should decode responses with
+   */
+  public static ApiClient createInformerClient(ApiClient apiClient) {
+    ApiClient informerClient = new ApiClient();
+    informerClient.setBasePath(apiClient.getBasePath());
+    informerClient.setHttpClient(apiClient.getHttpClient());
+
+    JSON json = new JSON();
+    json.setGson(
+        apiClient
+            .getJSON()
+            .getGson()
+            .newBuilder()
+            .registerTypeAdapterFactory(new CompactorFactory())
+            .create());
+    informerClient.setJSON(json);
+    return informerClient;
+  }
+
+  private static void compactMetadata(V1ObjectMeta metadata) {
+    if (metadata == null) {
+      return;
+    }
+
+    Map<String, String> annotations = metadata.getAnnotations();
+    if (annotations != null) {
+      annotations.remove(LAST_APPLIED_CONFIGURATION_ANNOTATION);
+    }
+  }
+
+  private static class CompactorFactory implements TypeAdapterFactory {
+
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      Class<? super T> rawType = type.getRawType();
+      if (rawType != V1alpha1Pipeline.class && rawType != V1alpha1PipelineConfig.class) {
+        return null;
+      }
+
+      TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+      return new TypeAdapter<T>() {
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+          delegate.write(out, value);
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+          T value = delegate.read(in);
+          // nobody else holds the object yet, it is safe to modify it in place
+          if (value instanceof V1alpha1Pipeline) {
+            compactMetadata(((V1alpha1Pipeline) value).getMetadata());
+          } else if (value instanceof V1alpha1PipelineConfig) {
+            compactMetadata(((V1alpha1PipelineConfig) value).getMetadata());
+          }
+          return value;
+        }
+      };
+    }
+  }
+}
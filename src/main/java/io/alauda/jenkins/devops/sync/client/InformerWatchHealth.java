@@ -0,0 +1,107 @@
+package io.alauda.jenkins.devops.sync.client;
+
+import io.kubernetes.client.informer.ResourceEventHandler;
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.util.CallGenerator;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.annotation.CheckForNull;
+
+/**
+ * Tracks the health of the watch connection of an informer, the information is collected from the
+ * informer itself so that we don't need to send extra requests to apiserver to check it.
+ *
+ * <p>Reflector will list resources again after its watch failed, so every list request except the
+ * first one means the reflector met an error.
+ */
+public class InformerWatchHealth {
+
+  private volatile SharedIndexInformer<?> informer;
+  private volatile LocalDateTime lastEventComingTime;
+  private volatile LocalDateTime lastWatchStartTime;
+  private final AtomicInteger listCount = new AtomicInteger(0);
+  private final AtomicInteger watchCount = new AtomicInteger(0);
+
+  /**
+   * Wrap the call generator of informer so that we can know when the reflector lists or watches
+   * resources
+   *
+   * @param callGenerator call generator used to create informer
+   * @return call generator which should be used to create informer
+   */
+  public CallGenerator track(CallGenerator callGenerator) {
+    return params -> {
+      if (Boolean.TRUE.equals(params.watch)) {
+        watchCount.incrementAndGet();
+        lastWatchStartTime = LocalDateTime.now();
+      } else {
+        listCount.incrementAndGet();
+      }
+      return callGenerator.generate(params);
+    };
+  }
+
+  /**
+   * Register event handler to informer to record the time of last event. Updates caused by resync
+   * will be ignored as they don't come from the watch connection.
+   *
+   * @param informer informer created by tracked call generator
+   * @param metadataFunc function to get metadata of the resource
+   * @param <ApiType> type of the resource
+   */
+  public <ApiType> void register(
+      SharedIndexInformer<ApiType> informer, Function<ApiType, V1ObjectMeta> metadataFunc) {
+    this.informer = informer;
+    informer.addEventHandler(
+        new ResourceEventHandler<ApiType>() {
+          @Override
+          public void onAdd(ApiType obj) {
+            lastEventComingTime = LocalDateTime.now();
+          }
+
+          @Override
+          public void onUpdate(ApiType oldObj, ApiType newObj) {
+            if (!Objects.equals(
+                metadataFunc.apply(oldObj).getResourceVersion(),
+                metadataFunc.apply(newObj).getResourceVersion())) {
+              lastEventComingTime = LocalDateTime.now();
+            }
+          }
+
+          @Override
+          public void onDelete(ApiType obj, boolean deletedFinalStateUnknown) {
+            lastEventComingTime = LocalDateTime.now();
+          }
+        });
+  }
+
+  @CheckForNull
+  public LocalDateTime getLastEventComingTime() {
+    return lastEventComingTime;
+  }
+
+  @CheckForNull
+  public LocalDateTime getLastWatchStartTime() {
+    return lastWatchStartTime;
+  }
+
+  @CheckForNull
+  public SharedIndexInformer<?> getInformer() {
+    return informer;
+  }
+
+  public boolean hasSynced() {
+    return informer != null && informer.hasSynced();
+  }
+
+  public int getWatchCount() {
+    return watchCount.get();
+  }
+
+  public int getReflectorErrorCount() {
+    return Math.max(listCount.get() - 1, 0);
+  }
+}
@@ -29,6 +29,7 @@ import io.alauda.jenkins.devops.sync.PipelineConfigProjectProperty;
 import io.alauda.jenkins.devops.sync.WorkflowJobProperty;
 import io.alauda.jenkins.devops.sync.exception.PipelineConfigConvertException;
 import io.alauda.jenkins.devops.sync.exception.PipelineException;
+import io.alauda.jenkins.devops.sync.listener.PipelineQueueIndex;
 import io.alauda.jenkins.devops.sync.mapper.PipelineConfigMapper;
 import io.alauda.jenkins.devops.sync.util.JenkinsUtils;
 import io.alauda.jenkins.devops.sync.util.NamespaceName;
@@ -37,12 +38,10 @@ import io.alauda.jenkins.devops.sync.util.PipelineUtils;
 import io.kubernetes.client.ApiException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -404,7 +403,6 @@ public class JenkinsClient {
 
   public void cancelPipeline(NamespaceName pipelineNamespaceName) throws PipelineException {
     String namespace = pipelineNamespaceName.getNamespace();
-    String name = pipelineNamespaceName.getName();
 
     V1alpha1PipelineConfig pipelineConfig = getPipelineConfigFromPipeline(pipelineNamespaceName);
     if (pipelineConfig == null) {
@@ -414,21 +412,11 @@ public class JenkinsClient {
     // cancel if in the queue
     try (ACLContext ignore = ACL.as(ACL.SYSTEM)) {
       Queue pipelineQueue = jenkins.getQueue();
-      Optional<Queue.Item> buildInQueue =
-          Arrays.stream(pipelineQueue.getItems())
-              .filter(
-                  item ->
-                      PipelineUtils.findAllAlaudaCauses(item)
-                          .stream()
-                          .anyMatch(
-                              cause ->
-                                  cause.getNamespace().equals(namespace)
-                                      && cause.getName().equals(name)))
-              .findFirst();
+      Queue.Item buildInQueue = PipelineQueueIndex.getQueuedItem(pipelineNamespaceName);
 
       // try to cancel the build if it is in the queue
-      if (buildInQueue.isPresent()) {
-        if (pipelineQueue.cancel(buildInQueue.get())) {
+      if (buildInQueue != null) {
+        if (pipelineQueue.cancel(buildInQueue)) {
           return;
         } else {
           logger.debug("Unable to cancel build in queue, build might leave the queue");
@@ -1,5 +1,7 @@
 package io.alauda.jenkins.devops.sync.client;
 
+import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_LABELS_SYNC_COMPLETED;
+
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -7,23 +9,38 @@ import com.google.gson.JsonObject;
 import io.alauda.devops.java.client.apis.DevopsAlaudaIoV1alpha1Api;
 import io.alauda.devops.java.client.models.V1alpha1Pipeline;
 import io.alauda.devops.java.client.utils.PatchGenerator;
+import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
+import io.alauda.jenkins.devops.sync.exception.ExceptionUtils;
+import io.alauda.jenkins.devops.sync.util.NamespaceName;
 import io.kubernetes.client.ApiException;
 import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.cache.Lister;
 import io.kubernetes.client.models.V1DeleteOptions;
 import io.kubernetes.client.models.V1Status;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PipelineClient implements ResourceClient<V1alpha1Pipeline> {
 
   private static final Logger logger = LoggerFactory.getLogger(PipelineClient.class);
+  private static final int COMPLETED_PIPELINE_CACHE_SIZE = 200;
 
   private SharedIndexInformer<V1alpha1Pipeline> informer;
   private Lister<V1alpha1Pipeline> lister;
+  // completed Pipelines might not in the informer cache, we keep the recently used ones here
+  private final Map<NamespaceName, V1alpha1Pipeline> completedPipelines =
+      new LinkedHashMap<NamespaceName, V1alpha1Pipeline>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<NamespaceName, V1alpha1Pipeline> eldest) {
+          return size() > COMPLETED_PIPELINE_CACHE_SIZE;
+        }
+      };
 
   public PipelineClient(SharedIndexInformer<V1alpha1Pipeline> informer) {
     this.informer = informer;
@@ -40,11 +57,94 @@ public class PipelineClient implements ResourceClient<V1alpha1Pipeline> {
     return lister;
   }
 
+  /**
+   * Get Pipeline from local lister. If only active Pipelines are watched, the completed Pipeline
+   * will be fetched from devops-apiserver and cached in a small LRU cache.
+   *
+   * @param namespace namespace of Pipeline
+   * @param name name of Pipeline
+   * @return Pipeline, null if not found
+   */
+  @CheckForNull
+  public V1alpha1Pipeline get(String namespace, String name) {
+    V1alpha1Pipeline pipeline = lister.namespace(namespace).get(name);
+    if (pipeline != null || !AlaudaSyncGlobalConfiguration.get().isWatchActivePipelinesOnly()) {
+      return pipeline;
+    }
+
+    NamespaceName namespaceName = new NamespaceName(namespace, name);
+    synchronized (completedPipelines) {
+      pipeline = completedPipelines.get(namespaceName);
+    }
+    if (pipeline != null) {
+      return pipeline;
+    }
+
+    DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
+    try {
+      pipeline = api.readNamespacedPipeline(name, namespace, null, null, null);
+    } catch (ApiException e) {
+      if (!ExceptionUtils.isResourceNotFoundException(e)) {
+        logger.warn(
+            "Unable to get Pipeline '{}/{}' from apiserver, reason: {}, body: {}",
+            namespace,
+            name,
+            e.getMessage(),
+            e.getResponseBody());
+      }
+      return null;
+    }
+
+    // only completed Pipelines won't change anymore, others would become stale in the cache
+    if (pipeline != null && isCompleted(pipeline)) {
+      synchronized (completedPipelines) {
+        completedPipelines.put(namespaceName, pipeline);
+      }
+    }
+    return pipeline;
+  }
+
+  private static boolean isCompleted(V1alpha1Pipeline pipeline) {
+    Map<String, String> labels = pipeline.getMetadata().getLabels();
+    return labels != null && labels.containsKey(PIPELINE_LABELS_SYNC_COMPLETED);
+  }
+
+  /**
+   * Check if the Pipeline exists in devops-apiserver. Neither the local lister nor the cache of
+   * completed Pipelines is used, so it can be used to decide whether a Pipeline was deleted.
+   *
+   * @param namespace namespace of Pipeline
+   * @param name name of Pipeline
+   * @return true if the Pipeline exists, false if it is not found
+   * @throws ApiException if failed to check the Pipeline
+   */
+  public boolean existsInApiServer(String namespace, String name) throws ApiException {
+    DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
+    try {
+      api.readNamespacedPipeline(name, namespace, null, null, null);
+      return true;
+    } catch (ApiException e) {
+      if (!ExceptionUtils.isResourceNotFoundException(e)) {
+        throw e;
+      }
+
+      synchronized (completedPipelines) {
+        completedPipelines.remove(new NamespaceName(namespace, name));
+      }
+      return false;
+    }
+  }
+
   @Override
   public boolean update(V1alpha1Pipeline oldPipeline, V1alpha1Pipeline newPipeline) {
     String name = oldPipeline.getMetadata().getName();
     String namespace = oldPipeline.getMetadata().getNamespace();
 
+    // the cached completed Pipeline will be stale after updated
+    synchronized (completedPipelines) {
+      completedPipelines.remove(new NamespaceName(namespace, name));
+    }
+
     String patch;
     try {
       patch = new PatchGenerator().generatePatchBetween(oldPipeline, newPipeline);
@@ -129,6 +229,10 @@ public class PipelineClient implements ResourceClient<V1alpha1Pipeline> {
 
   @Override
   public V1Status delete(String namespace, String name) {
+    synchronized (completedPipelines) {
+      completedPipelines.remove(new NamespaceName(namespace, name));
+    }
+
     DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
 
     try {
@@ -0,0 +1,82 @@
+package io.alauda.jenkins.devops.sync.client;
+
+import io.kubernetes.client.informer.SharedIndexInformer;
+import io.kubernetes.client.util.CallGenerator;
+import io.kubernetes.client.util.CallGeneratorParams;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the last synced resourceVersion of informers when they are stopped, so that informers
+ * created later can list resources from that resourceVersion. A list with resourceVersion will be
+ * served from the watch cache of apiserver instead of a quorum read from etcd.
+ *
+ * <p>The saved resourceVersion will only be used once, if the list failed, e.g. 410 Gone, reflector
+ * will list resources again without resourceVersion.
+ */
+public final class ResourceVersionCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ResourceVersionCache.class);
+
+  private static final ConcurrentHashMap<Class<?>, String> resourceVersions =
+      new ConcurrentHashMap<>();
+
+  private ResourceVersionCache() {}
+
+  /** Save the last synced resourceVersion of all registered informers */
+  public static void saveRegisteredResources() {
+    Clients.getRegisteredClients().forEach((apiType, client) -> save(apiType, client.informer()));
+  }
+
+  /** Save the last synced resourceVersion of the given informer if it is registered */
+  public static void save(SharedIndexInformer<?> informer) {
+    Clients.getRegisteredClients()
+        .forEach(
+            (apiType, client) -> {
+              if (client.informer() == informer) {
+                save(apiType, informer);
+              }
+            });
+  }
+
+  public static void save(Class<?> apiType, SharedIndexInformer<?> informer) {
+    if (informer == null || !informer.hasSynced()) {
+      return;
+    }
+
+    String resourceVersion = informer.lastSyncResourceVersion();
+    if (StringUtils.isNotEmpty(resourceVersion)) {
+      resourceVersions.put(apiType, resourceVersion);
+    }
+  }
+
+  public static void clear() {
+    resourceVersions.clear();
+  }
+
+  /**
+   * Wrap the call generator of informer so that its first list will use the saved resourceVersion
+   *
+   * @param apiType type of the resource
+   * @param callGenerator call generator used to create informer
+   * @return call generator which should be used to create informer
+   */
+  public static CallGenerator resume(Class<?> apiType, CallGenerator callGenerator) {
+    return params -> {
+      if (!Boolean.TRUE.equals(params.watch) && params.resourceVersion == null) {
+        String resourceVersion = resourceVersions.remove(apiType);
+        if (resourceVersion != null) {
+          logger.debug(
+              "[ResourceVersionCache] Resume list of {} from resourceVersion {}",
+              apiType.getSimpleName(),
+              resourceVersion);
+          return callGenerator.generate(
+              new CallGeneratorParams(params.watch, resourceVersion, params.timeoutSeconds));
+        }
+      }
+      return callGenerator.generate(params);
+    };
+  }
+}
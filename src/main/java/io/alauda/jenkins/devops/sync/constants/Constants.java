@@ -161,6 +161,12 @@ public final class Constants {
   public static final Supplier ANNOTATION_TEST_TOTAL =
       ResourceControllerManager.getControllerManager()
           .getFormattedAnnotation("pipeline-total-unit-test-cases");
+  public static final Supplier ANNOTATION_PIPELINE_TRIGGER_LATENCY =
+      ResourceControllerManager.getControllerManager()
+          .getFormattedAnnotation("pipeline-trigger-latency");
+  public static final Supplier ANNOTATION_TEST_FAILED_DIGEST =
+      ResourceControllerManager.getControllerManager()
+          .getFormattedAnnotation("pipeline-failed-unit-test-cases-digest");
 
   public static final String PIPELINECONFIG_KIND_MULTI_BRANCH = "multi-branch";
   public static final String PIPELINECONFIG_KIND = "pipeline.kind";
@@ -213,6 +219,8 @@ public final class Constants {
   public static final String JENKINS_PLUGIN_STATUS_INACTIVE = "inactive";
 
   public static final String PIPELINE_LABELS_REPLAYED_FROM = "replayed-from";
+  /** Added by sync plugin when Pipeline is completed, used to filter out completed Pipelines */
+  public static final String PIPELINE_LABELS_SYNC_COMPLETED = "sync-completed";
 
   public static final String PIPELINE_CONFIG_CONDITION_TYPE_INITIALIZED = "Initialized";
   public static final String PIPELINE_CONFIG_CONDITION_TYPE_SYNCED = "Synced";
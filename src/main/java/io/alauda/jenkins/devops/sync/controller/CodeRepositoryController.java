@@ -8,15 +8,20 @@ import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
 import io.alauda.jenkins.devops.sync.ConnectionAliveDetectTask;
 import io.alauda.jenkins.devops.sync.client.Clients;
 import io.alauda.jenkins.devops.sync.client.CodeRepositoryClient;
-import io.kubernetes.client.ApiException;
+import io.alauda.jenkins.devops.sync.client.InformerWatchHealth;
+import io.alauda.jenkins.devops.sync.client.ResourceVersionCache;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedReconciler;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedWorkQueue;
 import io.kubernetes.client.extended.controller.Controller;
 import io.kubernetes.client.extended.controller.builder.ControllerBuilder;
 import io.kubernetes.client.extended.controller.builder.ControllerManagerBuilder;
 import io.kubernetes.client.extended.controller.reconciler.Request;
 import io.kubernetes.client.extended.controller.reconciler.Result;
+import io.kubernetes.client.extended.workqueue.DefaultRateLimitingQueue;
+import io.kubernetes.client.extended.workqueue.RateLimitingQueue;
 import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
-import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,10 +31,11 @@ public class CodeRepositoryController
     implements ResourceController, ConnectionAliveDetectTask.HeartbeatResourceDetector {
 
   private static final Logger logger = LoggerFactory.getLogger(NamespaceController.class);
-  private LocalDateTime lastEventComingTime;
+  private volatile InformerWatchHealth watchHealth;
 
   @Override
   public void add(ControllerManagerBuilder managerBuilder, SharedInformerFactory factory) {
+    watchHealth = new InformerWatchHealth();
     DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
 
     SharedIndexInformer<V1alpha1CodeRepository> informer =
@@ -37,29 +43,39 @@ public class CodeRepositoryController
     if (informer == null) {
       informer =
           factory.sharedIndexInformerFor(
-              callGeneratorParams ->
-                  api.listCodeRepositoryForAllNamespacesCall(
-                      null,
-                      null,
-                      null,
-                      null,
-                      null,
-                      null,
-                      callGeneratorParams.resourceVersion,
-                      callGeneratorParams.timeoutSeconds,
-                      callGeneratorParams.watch,
-                      null,
-                      null),
+              watchHealth.track(
+                  ResourceVersionCache.resume(
+                      V1alpha1CodeRepository.class,
+                      callGeneratorParams ->
+                          api.listCodeRepositoryForAllNamespacesCall(
+                              null,
+                              null,
+                              null,
+                              null,
+                              null,
+                              null,
+                              callGeneratorParams.resourceVersion,
+                              callGeneratorParams.timeoutSeconds,
+                              callGeneratorParams.watch,
+                              null,
+                              null))),
               V1alpha1CodeRepository.class,
               V1alpha1CodeRepositoryList.class,
               TimeUnit.MINUTES.toMillis(AlaudaSyncGlobalConfiguration.get().getResyncPeriod()));
     }
 
+    watchHealth.register(informer, V1alpha1CodeRepository::getMetadata);
+
     CodeRepositoryClient client = new CodeRepositoryClient(informer);
     Clients.register(V1alpha1CodeRepository.class, client);
 
+    RateLimitingQueue<Request> queue =
+        new InstrumentedWorkQueue<>(
+            "code_repository", new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor()));
+
     Controller controller =
         ControllerBuilder.defaultBuilder(factory)
+            .withWorkQueue(queue)
             .watch(
                 workQueue ->
                     ControllerBuilder.controllerWatchBuilder(
@@ -69,18 +85,10 @@ public class CodeRepositoryController
                                 new Request(
                                     repository.getMetadata().getNamespace(),
                                     repository.getMetadata().getName()))
-                        .withOnUpdateFilter(
-                            (oldCodeRepository, newCodeRepository) -> {
-                              if (!oldCodeRepository
-                                  .getMetadata()
-                                  .getResourceVersion()
-                                  .equals(newCodeRepository.getMetadata().getResourceVersion())) {
-                                lastEventComingTime = LocalDateTime.now();
-                              }
-                              return true;
-                            })
+                        .withOnUpdateFilter((oldCodeRepository, newCodeRepository) -> true)
                         .build())
-            .withReconciler(request -> new Result(false))
+            .withReconciler(
+                new InstrumentedReconciler("code_repository", queue, request -> new Result(false)))
             .withName("CodeRepositoryController")
             .withWorkerCount(1)
             .build();
@@ -88,28 +96,13 @@ public class CodeRepositoryController
     managerBuilder.addController(controller);
   }
 
-  @Override
-  public LocalDateTime lastEventComingTime() {
-    return lastEventComingTime;
-  }
-
   @Override
   public String resourceName() {
     return "CodeRepository";
   }
 
   @Override
-  public boolean hasResourceExists() throws ApiException {
-    DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
-    V1alpha1CodeRepositoryList repositoryList =
-        api.listCodeRepositoryForAllNamespaces(null, null, null, null, 1, null, "0", null, null);
-
-    if (repositoryList == null
-        || repositoryList.getItems() == null
-        || repositoryList.getItems().size() == 0) {
-      return false;
-    }
-
-    return true;
+  public InformerWatchHealth watchHealth() {
+    return watchHealth;
   }
 }
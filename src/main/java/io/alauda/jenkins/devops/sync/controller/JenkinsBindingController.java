@@ -7,26 +7,32 @@ import io.alauda.devops.java.client.models.V1alpha1JenkinsBindingList;
 import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
 import io.alauda.jenkins.devops.sync.ConnectionAliveDetectTask;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.client.InformerWatchHealth;
 import io.alauda.jenkins.devops.sync.client.JenkinsBindingClient;
-import io.kubernetes.client.ApiException;
+import io.alauda.jenkins.devops.sync.client.ResourceVersionCache;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedReconciler;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedWorkQueue;
 import io.kubernetes.client.extended.controller.Controller;
 import io.kubernetes.client.extended.controller.builder.ControllerBuilder;
 import io.kubernetes.client.extended.controller.builder.ControllerManagerBuilder;
 import io.kubernetes.client.extended.controller.reconciler.Request;
 import io.kubernetes.client.extended.controller.reconciler.Result;
+import io.kubernetes.client.extended.workqueue.DefaultRateLimitingQueue;
+import io.kubernetes.client.extended.workqueue.RateLimitingQueue;
 import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
-import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 @Extension
 public class JenkinsBindingController
     implements ResourceController, ConnectionAliveDetectTask.HeartbeatResourceDetector {
 
-  private LocalDateTime lastEventComingTime;
+  private volatile InformerWatchHealth watchHealth;
 
   @Override
   public void add(ControllerManagerBuilder managerBuilder, SharedInformerFactory factory) {
+    watchHealth = new InformerWatchHealth();
     DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
 
     SharedIndexInformer<V1alpha1JenkinsBinding> informer =
@@ -34,29 +40,40 @@ public class JenkinsBindingController
     if (informer == null) {
       informer =
           factory.sharedIndexInformerFor(
-              callGeneratorParams ->
-                  api.listJenkinsBindingForAllNamespacesCall(
-                      null,
-                      null,
-                      null,
-                      "jenkins=" + AlaudaSyncGlobalConfiguration.get().getJenkinsService(),
-                      null,
-                      null,
-                      callGeneratorParams.resourceVersion,
-                      callGeneratorParams.timeoutSeconds,
-                      callGeneratorParams.watch,
-                      null,
-                      null),
+              watchHealth.track(
+                  ResourceVersionCache.resume(
+                      V1alpha1JenkinsBinding.class,
+                      callGeneratorParams ->
+                          api.listJenkinsBindingForAllNamespacesCall(
+                              null,
+                              null,
+                              null,
+                              "jenkins="
+                                  + AlaudaSyncGlobalConfiguration.get().getJenkinsService(),
+                              null,
+                              null,
+                              callGeneratorParams.resourceVersion,
+                              callGeneratorParams.timeoutSeconds,
+                              callGeneratorParams.watch,
+                              null,
+                              null))),
               V1alpha1JenkinsBinding.class,
               V1alpha1JenkinsBindingList.class,
               TimeUnit.MINUTES.toMillis(AlaudaSyncGlobalConfiguration.get().getResyncPeriod()));
     }
 
+    watchHealth.register(informer, V1alpha1JenkinsBinding::getMetadata);
+
     JenkinsBindingClient client = new JenkinsBindingClient(informer);
     Clients.register(V1alpha1JenkinsBinding.class, client);
 
+    RateLimitingQueue<Request> queue =
+        new InstrumentedWorkQueue<>(
+            "jenkins_binding", new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor()));
+
     Controller controller =
         ControllerBuilder.defaultBuilder(factory)
+            .withWorkQueue(queue)
             .watch(
                 workQueue ->
                     ControllerBuilder.controllerWatchBuilder(
@@ -66,18 +83,10 @@ public class JenkinsBindingController
                                 new Request(
                                     jenkinsBinding.getMetadata().getName(),
                                     jenkinsBinding.getMetadata().getNamespace()))
-                        .withOnUpdateFilter(
-                            (oldJenkinsBinding, newJenkinsBinding) -> {
-                              if (!oldJenkinsBinding
-                                  .getMetadata()
-                                  .getResourceVersion()
-                                  .equals(newJenkinsBinding.getMetadata().getResourceVersion())) {
-                                lastEventComingTime = LocalDateTime.now();
-                              }
-                              return true;
-                            })
+                        .withOnUpdateFilter((oldJenkinsBinding, newJenkinsBinding) -> true)
                         .build())
-            .withReconciler(request -> new Result(false))
+            .withReconciler(
+                new InstrumentedReconciler("jenkins_binding", queue, request -> new Result(false)))
             .withName("JenkinsBindingController")
             .withWorkerCount(1)
             .build();
@@ -85,28 +94,13 @@ public class JenkinsBindingController
     managerBuilder.addController(controller);
   }
 
-  @Override
-  public LocalDateTime lastEventComingTime() {
-    return lastEventComingTime;
-  }
-
   @Override
   public String resourceName() {
     return "JenkinsBinding";
   }
 
   @Override
-  public boolean hasResourceExists() throws ApiException {
-    DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
-    V1alpha1JenkinsBindingList bindingList =
-        api.listJenkinsBindingForAllNamespaces(null, null, null, null, 1, null, "0", null, null);
-
-    if (bindingList == null
-        || bindingList.getItems() == null
-        || bindingList.getItems().size() == 0) {
-      return false;
-    }
-
-    return true;
+  public InformerWatchHealth watchHealth() {
+    return watchHealth;
   }
 }
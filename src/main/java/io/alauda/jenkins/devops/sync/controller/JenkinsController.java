@@ -2,19 +2,22 @@ package io.alauda.jenkins.devops.sync.controller;
 
 import hudson.Extension;
 import hudson.ExtensionList;
-import hudson.PluginManager;
 import hudson.model.Label;
-import hudson.model.Node;
-import hudson.model.UpdateSite;
 import io.alauda.devops.java.client.apis.DevopsAlaudaIoV1alpha1Api;
 import io.alauda.devops.java.client.models.*;
 import io.alauda.devops.java.client.utils.DeepCopyUtils;
 import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
 import io.alauda.jenkins.devops.sync.ConnectionAliveDetectTask;
+import io.alauda.jenkins.devops.sync.client.InformerWatchHealth;
 import io.alauda.jenkins.devops.sync.client.JenkinsClient;
 import io.alauda.jenkins.devops.sync.constants.Constants;
+import io.alauda.jenkins.devops.sync.listener.JenkinsStatusListener;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedReconciler;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedWorkQueue;
 import io.alauda.jenkins.devops.sync.monitor.Metrics;
-import io.kubernetes.client.ApiException;
+import io.alauda.jenkins.devops.sync.util.NodeLabelIndex;
+import io.alauda.jenkins.devops.sync.util.PluginInventory;
+import io.alauda.jenkins.devops.sync.util.PluginInventory.PluginStatus;
 import io.kubernetes.client.JSON;
 import io.kubernetes.client.extended.controller.Controller;
 import io.kubernetes.client.extended.controller.builder.ControllerBuilder;
@@ -29,10 +32,10 @@ import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.informer.cache.Lister;
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -51,10 +54,11 @@ public class JenkinsController
   private static final String CONTROLLER_NAME = "JenkinsController";
 
   private RateLimitingQueue<Request> queue;
-  private LocalDateTime lastEventComingTime;
+  private volatile InformerWatchHealth watchHealth;
 
   @Override
   public void add(ControllerManagerBuilder managerBuilder, SharedInformerFactory factory) {
+    watchHealth = new InformerWatchHealth();
     DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
 
     SharedIndexInformer<V1alpha1Jenkins> informer =
@@ -62,28 +66,33 @@ public class JenkinsController
     if (informer == null) {
       informer =
           factory.sharedIndexInformerFor(
-              params ->
-                  api.listJenkinsCall(
-                      null,
-                      null,
-                      null,
-                      null,
-                      null,
-                      null,
-                      params.resourceVersion,
-                      params.timeoutSeconds,
-                      params.watch,
-                      null,
-                      null),
+              watchHealth.track(
+                  params ->
+                      api.listJenkinsCall(
+                          null,
+                          null,
+                          null,
+                          null,
+                          null,
+                          null,
+                          params.resourceVersion,
+                          params.timeoutSeconds,
+                          params.watch,
+                          null,
+                          null)),
               V1alpha1Jenkins.class,
               V1alpha1JenkinsList.class,
               TimeUnit.MINUTES.toMillis(5));
     }
 
+    watchHealth.register(informer, V1alpha1Jenkins::getMetadata);
+
     queue =
-        new DefaultRateLimitingQueue<>(
-            Executors.newSingleThreadExecutor(),
-            new BucketRateLimiter<>(1, 1, Duration.ofMinutes(5)));
+        new InstrumentedWorkQueue<>(
+            "jenkins",
+            new DefaultRateLimitingQueue<>(
+                Executors.newSingleThreadExecutor(),
+                new BucketRateLimiter<>(1, 1, Duration.ofMinutes(5))));
 
     Controller controller =
         ControllerBuilder.defaultBuilder(factory)
@@ -116,12 +125,6 @@ public class JenkinsController
                         .withOnUpdateFilter(
                             (oldJenkins, newJenkins) -> {
                               Metrics.incomingRequestCounter.labels("jenkins", "update").inc();
-                              if (!oldJenkins
-                                  .getMetadata()
-                                  .getResourceVersion()
-                                  .equals(newJenkins.getMetadata().getResourceVersion())) {
-                                lastEventComingTime = LocalDateTime.now();
-                              }
 
                               String configuredJenkinsServiceName =
                                   AlaudaSyncGlobalConfiguration.get().getJenkinsService();
@@ -146,49 +149,39 @@ public class JenkinsController
                         .build())
             .withWorkerCount(1)
             .withName(CONTROLLER_NAME)
-            .withReconciler(new JenkinsReconciler(new Lister<>(informer.getIndexer())))
+            .withReconciler(
+                new InstrumentedReconciler(
+                    "jenkins", queue, new JenkinsReconciler(new Lister<>(informer.getIndexer()))))
             .build();
 
     managerBuilder.addController(controller);
   }
 
-  @Override
-  public LocalDateTime lastEventComingTime() {
-    return lastEventComingTime;
-  }
-
   @Override
   public String resourceName() {
     return "Jenkins";
   }
 
   @Override
-  public boolean hasResourceExists() throws ApiException {
-    DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
-    V1alpha1JenkinsList jenkinsList =
-        api.listJenkins(null, null, null, null, null, 1, "0", null, null);
-
-    if (jenkinsList == null
-        || jenkinsList.getItems() == null
-        || jenkinsList.getItems().size() == 0) {
-      return false;
-    }
-
-    return true;
+  public InformerWatchHealth watchHealth() {
+    return watchHealth;
   }
 
   private class JenkinsReconciler implements Reconciler {
 
     private Lister<V1alpha1Jenkins> lister;
 
+    // last computed status, only accessed by the single worker of this controller
+    private String lastLabelsStatus;
+    private String lastPluginsStatus;
+    private PluginInventory lastPluginInventory;
+
     JenkinsReconciler(Lister<V1alpha1Jenkins> lister) {
       this.lister = lister;
     }
 
     @Override
     public Result reconcile(Request request) {
-      Metrics.completedRequestCounter.labels("jenkins").inc();
-      Metrics.remainedRequestsGauge.labels("jenkins").set(queue.length());
       String jenkinsName = request.getName();
       String configuredJenkinsServiceName = AlaudaSyncGlobalConfiguration.get().getJenkinsService();
       if (!jenkinsName.equals(configuredJenkinsServiceName)) {
@@ -210,24 +203,44 @@ public class JenkinsController
         return new Result(false);
       }
 
+      String labelsStatus = getLabelsStatus();
+      String pluginsStatus = getPluginsStatus();
+      if (isStatusPublished(jenkins, labelsStatus, Constants.JENKINS_NODES_CONDITION)
+          && isStatusPublished(jenkins, pluginsStatus, Constants.JENKINS_PLUGINS_CONDITION)) {
+        logger.debug(
+            "[{}] Status of Jenkins '{}' not changed, will skip to update it",
+            CONTROLLER_NAME,
+            jenkinsName);
+        return new Result(false);
+      }
+
       V1alpha1Jenkins jenkinsCopy = DeepCopyUtils.deepCopy(jenkins);
 
-      logger.debug("[{}] Add labels status to Jenkins '{}'", CONTROLLER_NAME, jenkinsCopy);
-      addLabelsCondition(jenkinsCopy);
-      logger.debug("[{}] Add plugins status to Jenkins '{}'", CONTROLLER_NAME, jenkinsCopy);
-      addPluginsCondition(jenkinsCopy);
-      logger.debug("[{}] Add warnings status to Jenkins '{}'", CONTROLLER_NAME, jenkinsCopy);
+      logger.debug("[{}] Add labels status to Jenkins '{}'", CONTROLLER_NAME, jenkinsName);
+      addJenkinsStatusCondition(jenkinsCopy, labelsStatus, Constants.JENKINS_NODES_CONDITION);
+      logger.debug("[{}] Add plugins status to Jenkins '{}'", CONTROLLER_NAME, jenkinsName);
+      addJenkinsStatusCondition(jenkinsCopy, pluginsStatus, Constants.JENKINS_PLUGINS_CONDITION);
+      logger.debug("[{}] Add warnings status to Jenkins '{}'", CONTROLLER_NAME, jenkinsName);
       addWarningsCondition(jenkinsCopy);
 
       boolean succeed = JenkinsClient.getInstance().updateJenkins(jenkins, jenkinsCopy);
 
       if (!succeed) {
-        new Result(true);
+        return new Result(true);
       }
       return new Result(false);
     }
 
-    private void addLabelsCondition(V1alpha1Jenkins jenkins) {
+    /**
+     * Labels will only be recomputed when nodes, computers or jobs changed.
+     *
+     * @return serialized labels status
+     */
+    private String getLabelsStatus() {
+      if (lastLabelsStatus != null && !JenkinsStatusListener.pollLabelsChanged()) {
+        return lastLabelsStatus;
+      }
+
       logger.debug("Starting find all active labels from Jenkins");
       ExtensionList<LabelDashboardAction> labelActions =
           ExtensionList.lookup(LabelDashboardAction.class);
@@ -264,21 +277,12 @@ public class JenkinsController
 
       NodeList nodeList = new NodeList();
       nodeList.setLabels(labels);
-      addJenkinsStatusCondition(
-          jenkins, new JSON().serialize(nodeList), Constants.JENKINS_NODES_CONDITION);
+      lastLabelsStatus = new JSON().serialize(nodeList);
+      return lastLabelsStatus;
     }
 
     private List<String> removeUnavailableLabels(List<String> labels) {
-      List<Node> nodes = Jenkins.getInstance().getNodes();
-      // Jenkins.getInstance().getNodes() will return all nodes except Jenkins itself
-      nodes.add(Jenkins.getInstance());
-
-      List<String> unavailableFromStaticNodes =
-          nodes
-              .stream()
-              .filter(node -> node.getNumExecutors() <= 0)
-              .flatMap(node -> Label.parse(node.getLabelString()).stream().map(Label::getName))
-              .collect(Collectors.toList());
+      Set<String> unavailableFromStaticNodes = NodeLabelIndex.get().getUnavailableLabels();
 
       logger.debug("labels {}", unavailableFromStaticNodes);
 
@@ -288,15 +292,42 @@ public class JenkinsController
           .collect(Collectors.toList());
     }
 
-    private void addPluginsCondition(V1alpha1Jenkins jenkins) {
+    /**
+     * Plugins status will only be serialized again when the plugin inventory changed.
+     *
+     * @return serialized plugins status
+     */
+    private String getPluginsStatus() {
+      PluginInventory inventory = PluginInventory.get();
+      if (inventory == lastPluginInventory) {
+        return lastPluginsStatus;
+      }
+
       logger.debug("Starting to list plugin status");
-      List<PluginStatus> pluginStatusList = getPluginsStatus();
+      List<PluginStatus> pluginStatusList = inventory.getPluginStatuses();
       logger.debug("Found {} plugins", pluginStatusList.size());
 
       PluginList pluginList = new PluginList();
       pluginList.setPlugins(pluginStatusList);
-      addJenkinsStatusCondition(
-          jenkins, new JSON().serialize(pluginList), Constants.JENKINS_PLUGINS_CONDITION);
+      lastPluginsStatus = new JSON().serialize(pluginList);
+      lastPluginInventory = inventory;
+      return lastPluginsStatus;
+    }
+
+    private boolean isStatusPublished(V1alpha1Jenkins jenkins, String status, String conditionName) {
+      if (jenkins.getStatus() == null || jenkins.getStatus().getConditions() == null) {
+        return false;
+      }
+
+      return jenkins
+          .getStatus()
+          .getConditions()
+          .stream()
+          .anyMatch(
+              condition ->
+                  Constants.JENKINS_CONDITION_STATUS_TYPE.equals(condition.getType())
+                      && conditionName.equals(condition.getName())
+                      && status.equals(condition.getMessage()));
     }
 
     private void addJenkinsStatusCondition(
@@ -337,47 +368,6 @@ public class JenkinsController
     private void addWarningsCondition(V1alpha1Jenkins jenkins) {
       // TODO add warnings to Jenkins condition
     }
-
-    private List<PluginStatus> getPluginsStatus() {
-      PluginManager pluginManager = Jenkins.getInstance().getPluginManager();
-      List<PluginStatus> pluginStatusList = new LinkedList<>();
-
-      // add failed plugins' status to condition
-      pluginManager
-          .getFailedPlugins()
-          .forEach(
-              failedPlugin -> {
-                PluginStatus pluginStatus = new PluginStatus();
-                pluginStatus.setName(failedPlugin.name);
-                pluginStatus.setDescription(failedPlugin.cause.getMessage());
-                pluginStatus.setStatus(Constants.JENKINS_PLUGIN_STATUS_FAILED);
-
-                pluginStatusList.add(pluginStatus);
-              });
-
-      pluginManager
-          .getPlugins()
-          .forEach(
-              plugin -> {
-                PluginStatus pluginStatus = new PluginStatus();
-                pluginStatus.setName(plugin.getLongName());
-
-                UpdateSite.Plugin pluginInfo = plugin.getInfo();
-                if (pluginInfo != null) {
-                  pluginStatus.setDescription(pluginInfo.excerpt);
-                }
-
-                pluginStatus.setVersion(plugin.getVersion());
-                pluginStatus.setStatus(
-                    plugin.isActive()
-                        ? Constants.JENKINS_PLUGIN_STATUS_ACTIVE
-                        : Constants.JENKINS_PLUGIN_STATUS_INACTIVE);
-                pluginStatus.setUpdatable(plugin.hasUpdate());
-
-                pluginStatusList.add(pluginStatus);
-              });
-      return pluginStatusList;
-    }
   }
 
   private static class PluginList {
@@ -393,55 +383,6 @@ public class JenkinsController
     }
   }
 
-  private static class PluginStatus {
-
-    private String name;
-    private String version;
-    private String description;
-    private String status;
-    private boolean updatable;
-
-    public String getName() {
-      return name;
-    }
-
-    public void setName(String name) {
-      this.name = name;
-    }
-
-    public String getVersion() {
-      return version;
-    }
-
-    public void setVersion(String version) {
-      this.version = version;
-    }
-
-    public String getDescription() {
-      return description;
-    }
-
-    public void setDescription(String description) {
-      this.description = description;
-    }
-
-    public String getStatus() {
-      return status;
-    }
-
-    public void setStatus(String status) {
-      this.status = status;
-    }
-
-    public boolean isUpdatable() {
-      return updatable;
-    }
-
-    public void setUpdatable(boolean updatable) {
-      this.updatable = updatable;
-    }
-  }
-
   private static class NodeList {
 
     private List<String> labels;
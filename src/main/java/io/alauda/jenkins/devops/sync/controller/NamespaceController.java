@@ -8,9 +8,12 @@ import io.alauda.jenkins.devops.sync.AlaudaFolderProperty;
 import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
 import io.alauda.jenkins.devops.sync.ConnectionAliveDetectTask;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.client.InformerWatchHealth;
 import io.alauda.jenkins.devops.sync.client.NamespaceClient;
+import io.alauda.jenkins.devops.sync.client.ResourceVersionCache;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedReconciler;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedWorkQueue;
 import io.alauda.jenkins.devops.sync.monitor.Metrics;
-import io.kubernetes.client.ApiException;
 import io.kubernetes.client.apis.CoreV1Api;
 import io.kubernetes.client.extended.controller.Controller;
 import io.kubernetes.client.extended.controller.builder.ControllerBuilder;
@@ -26,7 +29,6 @@ import io.kubernetes.client.informer.cache.Lister;
 import io.kubernetes.client.models.V1Namespace;
 import io.kubernetes.client.models.V1NamespaceList;
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import jenkins.model.Jenkins;
@@ -41,10 +43,11 @@ public class NamespaceController
   private static final String CONTROLLER_NAME = "NamespaceController";
   private RateLimitingQueue<Request> queue;
 
-  private LocalDateTime lastEventComingTime;
+  private volatile InformerWatchHealth watchHealth;
 
   @Override
   public void add(ControllerManagerBuilder managerBuilder, SharedInformerFactory factory) {
+    watchHealth = new InformerWatchHealth();
     CoreV1Api api = new CoreV1Api();
 
     SharedIndexInformer<V1Namespace> informer =
@@ -52,27 +55,34 @@ public class NamespaceController
     if (informer == null) {
       informer =
           factory.sharedIndexInformerFor(
-              callGeneratorParams ->
-                  api.listNamespaceCall(
-                      null,
-                      null,
-                      null,
-                      null,
-                      null,
-                      callGeneratorParams.resourceVersion,
-                      callGeneratorParams.timeoutSeconds,
-                      callGeneratorParams.watch,
-                      null,
-                      null),
+              watchHealth.track(
+                  ResourceVersionCache.resume(
+                      V1Namespace.class,
+                      callGeneratorParams ->
+                          api.listNamespaceCall(
+                              null,
+                              null,
+                              null,
+                              null,
+                              null,
+                              callGeneratorParams.resourceVersion,
+                              callGeneratorParams.timeoutSeconds,
+                              callGeneratorParams.watch,
+                              null,
+                              null))),
               V1Namespace.class,
               V1NamespaceList.class,
               TimeUnit.MINUTES.toMillis(AlaudaSyncGlobalConfiguration.get().getResyncPeriod()));
     }
 
+    watchHealth.register(informer, V1Namespace::getMetadata);
+
     NamespaceClient client = new NamespaceClient(informer);
     Clients.register(V1Namespace.class, client);
 
-    queue = new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor());
+    queue =
+        new InstrumentedWorkQueue<>(
+            "namespace", new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor()));
 
     Controller controller =
         ControllerBuilder.defaultBuilder(factory)
@@ -89,12 +99,6 @@ public class NamespaceController
                             })
                         .withOnUpdateFilter(
                             (oldNs, newNs) -> {
-                              if (!oldNs
-                                  .getMetadata()
-                                  .getResourceVersion()
-                                  .equals(newNs.getMetadata().getResourceVersion())) {
-                                lastEventComingTime = LocalDateTime.now();
-                              }
                               Metrics.incomingRequestCounter.labels("namespace", "update").inc();
                               return false;
                             })
@@ -104,7 +108,11 @@ public class NamespaceController
                               return true;
                             })
                         .build())
-            .withReconciler(new NamespaceReconciler(new Lister<>(informer.getIndexer())))
+            .withReconciler(
+                new InstrumentedReconciler(
+                    "namespace",
+                    queue,
+                    new NamespaceReconciler(new Lister<>(informer.getIndexer()))))
             .withName(CONTROLLER_NAME)
             .withWorkerCount(1)
             .build();
@@ -112,28 +120,14 @@ public class NamespaceController
     managerBuilder.addController(controller);
   }
 
-  @Override
-  public LocalDateTime lastEventComingTime() {
-    return lastEventComingTime;
-  }
-
   @Override
   public String resourceName() {
     return "Namespace";
   }
 
   @Override
-  public boolean hasResourceExists() throws ApiException {
-    CoreV1Api api = new CoreV1Api();
-    V1NamespaceList namespaceList = api.listNamespace(null, null, null, null, 1, "0", null, null);
-
-    if (namespaceList == null
-        || namespaceList.getItems() == null
-        || namespaceList.getItems().size() == 0) {
-      return false;
-    }
-
-    return true;
+  public InformerWatchHealth watchHealth() {
+    return watchHealth;
   }
 
   class NamespaceReconciler implements Reconciler {
@@ -146,9 +140,6 @@ public class NamespaceController
 
     @Override
     public Result reconcile(Request request) {
-      Metrics.completedRequestCounter.labels("namespace").inc();
-      Metrics.remainedRequestsGauge.labels("namespace").set(queue.length());
-
       V1Namespace namespace = namespaceLister.get(request.getName());
       if (namespace != null) {
         return new Result(false);
@@ -9,15 +9,18 @@ import io.alauda.devops.java.client.utils.DeepCopyUtils;
 import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
 import io.alauda.jenkins.devops.sync.ConnectionAliveDetectTask;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.client.InformerWatchHealth;
 import io.alauda.jenkins.devops.sync.client.JenkinsClient;
 import io.alauda.jenkins.devops.sync.client.PipelineConfigClient;
+import io.alauda.jenkins.devops.sync.client.ResourceVersionCache;
 import io.alauda.jenkins.devops.sync.constants.Constants;
 import io.alauda.jenkins.devops.sync.exception.PipelineConfigConvertException;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedReconciler;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedWorkQueue;
 import io.alauda.jenkins.devops.sync.monitor.Metrics;
 import io.alauda.jenkins.devops.sync.util.ConditionUtils;
 import io.alauda.jenkins.devops.sync.util.NamespaceName;
 import io.alauda.jenkins.devops.sync.util.PipelineConfigUtils;
-import io.kubernetes.client.ApiException;
 import io.kubernetes.client.extended.controller.Controller;
 import io.kubernetes.client.extended.controller.builder.ControllerBuilder;
 import io.kubernetes.client.extended.controller.builder.ControllerManagerBuilder;
@@ -30,7 +33,6 @@ import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.informer.cache.Lister;
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.joda.time.DateTime;
@@ -44,11 +46,12 @@ public class PipelineConfigController
   private static final Logger logger = LoggerFactory.getLogger(PipelineConfigController.class);
   private static final String CONTROLLER_NAME = "PipelineConfigController";
 
-  private LocalDateTime lastEventComingTime;
+  private volatile InformerWatchHealth watchHealth;
   private RateLimitingQueue<Request> queue;
 
   @Override
   public void add(ControllerManagerBuilder managerBuilder, SharedInformerFactory factory) {
+    watchHealth = new InformerWatchHealth();
     DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
 
     SharedIndexInformer<V1alpha1PipelineConfig> informer =
@@ -56,28 +59,36 @@ public class PipelineConfigController
     if (informer == null) {
       informer =
           factory.sharedIndexInformerFor(
-              callGeneratorParams ->
-                  api.listPipelineConfigForAllNamespacesCall(
-                      null,
-                      null,
-                      null,
-                      "jenkins=" + AlaudaSyncGlobalConfiguration.get().getJenkinsService(),
-                      null,
-                      null,
-                      callGeneratorParams.resourceVersion,
-                      callGeneratorParams.timeoutSeconds,
-                      callGeneratorParams.watch,
-                      null,
-                      null),
+              watchHealth.track(
+                  ResourceVersionCache.resume(
+                      V1alpha1PipelineConfig.class,
+                      callGeneratorParams ->
+                          api.listPipelineConfigForAllNamespacesCall(
+                              null,
+                              null,
+                              null,
+                              "jenkins="
+                                  + AlaudaSyncGlobalConfiguration.get().getJenkinsService(),
+                              null,
+                              null,
+                              callGeneratorParams.resourceVersion,
+                              callGeneratorParams.timeoutSeconds,
+                              callGeneratorParams.watch,
+                              null,
+                              null))),
               V1alpha1PipelineConfig.class,
               V1alpha1PipelineConfigList.class,
               TimeUnit.MINUTES.toMillis(AlaudaSyncGlobalConfiguration.get().getResyncPeriod()));
     }
 
+    watchHealth.register(informer, V1alpha1PipelineConfig::getMetadata);
+
     PipelineConfigClient client = new PipelineConfigClient(informer);
     Clients.register(V1alpha1PipelineConfig.class, client);
 
-    queue = new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor());
+    queue =
+        new InstrumentedWorkQueue<>(
+            "pipeline_config", new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor()));
 
     Controller controller =
         ControllerBuilder.defaultBuilder(factory)
@@ -132,7 +143,11 @@ public class PipelineConfigController
                               return true;
                             })
                         .build())
-            .withReconciler(new PipelineConfigReconciler(new Lister<>(informer.getIndexer())))
+            .withReconciler(
+                new InstrumentedReconciler(
+                    "pipeline_config",
+                    queue,
+                    new PipelineConfigReconciler(new Lister<>(informer.getIndexer()))))
             .withName(CONTROLLER_NAME)
             .withWorkerCount(4)
             .build();
@@ -140,25 +155,14 @@ public class PipelineConfigController
     managerBuilder.addController(controller);
   }
 
-  @Override
-  public LocalDateTime lastEventComingTime() {
-    return lastEventComingTime;
-  }
-
   @Override
   public String resourceName() {
     return "PipelineConfig";
   }
 
   @Override
-  public boolean hasResourceExists() throws ApiException {
-    DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
-    V1alpha1PipelineConfigList pipelineConfigList =
-        api.listPipelineConfigForAllNamespaces(null, null, null, null, 1, null, "0", null, null);
-
-    return pipelineConfigList != null
-        && pipelineConfigList.getItems() != null
-        && pipelineConfigList.getItems().size() != 0;
+  public InformerWatchHealth watchHealth() {
+    return watchHealth;
   }
 
   class PipelineConfigReconciler implements Reconciler {
@@ -173,11 +177,6 @@ public class PipelineConfigController
 
     @Override
     public Result reconcile(Request request) {
-      lastEventComingTime = LocalDateTime.now();
-
-      Metrics.completedRequestCounter.labels("pipeline_config").inc();
-      Metrics.remainedRequestsGauge.labels("pipeline_config").set(queue.length());
-
       String namespace = request.getNamespace();
       String name = request.getName();
 
@@ -223,14 +222,10 @@ public class PipelineConfigController
         return new Result(false);
       }
 
-      // clone PipelineConfig so that we won't modify it in two places
-      pc = DeepCopyUtils.deepCopy(pc);
-      V1alpha1PipelineConfig pipelineConfigCopy = DeepCopyUtils.deepCopy(pc);
-
+      // check the PipelineConfig in lister first, we only need to copy it when we have to update it
       V1alpha1Condition syncedCondition =
           ConditionUtils.getCondition(
-              pipelineConfigCopy.getStatus().getConditions(),
-              Constants.PIPELINE_CONFIG_CONDITION_TYPE_SYNCED);
+              pc.getStatus().getConditions(), Constants.PIPELINE_CONFIG_CONDITION_TYPE_SYNCED);
       if (syncedCondition == null) {
         logger.debug(
             "[{}] PipelineConfig '{}/{}' doesn't have Synced condition, skip this reconcile",
@@ -254,12 +249,22 @@ public class PipelineConfigController
           namespace,
           name);
 
+      boolean hasSyncedJenkinsJob = jenkinsClient.hasSyncedJenkinsJob(pc);
+
+      // the PipelineConfig in lister is shared with other threads, keep a private copy of it as the
+      // base of the patch so that the patch only contains the changes made by this reconcile
+      V1alpha1PipelineConfig oldPipelineConfig = DeepCopyUtils.deepCopy(pc);
+      V1alpha1PipelineConfig pipelineConfigCopy = DeepCopyUtils.deepCopy(oldPipelineConfig);
+      syncedCondition =
+          ConditionUtils.getCondition(
+              pipelineConfigCopy.getStatus().getConditions(),
+              Constants.PIPELINE_CONFIG_CONDITION_TYPE_SYNCED);
       syncedCondition.status(Constants.CONDITION_STATUS_TRUE).lastAttempt(DateTime.now());
 
       PipelineConfigUtils.dependencyCheck(
           pipelineConfigCopy, pipelineConfigCopy.getStatus().getConditions());
       try {
-        if (!jenkinsClient.hasSyncedJenkinsJob(pipelineConfigCopy)) {
+        if (!hasSyncedJenkinsJob) {
           boolean succeedUpdated = jenkinsClient.upsertJob(pipelineConfigCopy);
           if (!succeedUpdated) {
             return new Result(false);
@@ -281,7 +286,7 @@ public class PipelineConfigController
       logger.debug("[{}] Will update PipelineConfig '{}/{}'", getControllerName(), namespace, name);
       PipelineConfigClient pipelineConfigClient =
           (PipelineConfigClient) Clients.get(V1alpha1PipelineConfig.class);
-      boolean succeed = pipelineConfigClient.update(pc, pipelineConfigCopy);
+      boolean succeed = pipelineConfigClient.update(oldPipelineConfig, pipelineConfigCopy);
       return new Result(!succeed);
     }
 
@@ -11,6 +11,7 @@ import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_CONDITI
 import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_CONDITION_TYPE_SYNCED;
 import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_CREATED_BY;
 import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_LABELS_REPLAYED_FROM;
+import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_LABELS_SYNC_COMPLETED;
 
 import hudson.Extension;
 import io.alauda.devops.java.client.apis.DevopsAlaudaIoV1alpha1Api;
@@ -22,11 +23,17 @@ import io.alauda.devops.java.client.utils.DeepCopyUtils;
 import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
 import io.alauda.jenkins.devops.sync.ConnectionAliveDetectTask;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.client.InformerWatchHealth;
 import io.alauda.jenkins.devops.sync.client.JenkinsClient;
 import io.alauda.jenkins.devops.sync.client.PipelineClient;
+import io.alauda.jenkins.devops.sync.client.ResourceVersionCache;
 import io.alauda.jenkins.devops.sync.exception.PipelineException;
 import io.alauda.jenkins.devops.sync.listener.PipelineSyncExecutor;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedReconciler;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedWorkQueue;
 import io.alauda.jenkins.devops.sync.monitor.Metrics;
+import io.alauda.jenkins.devops.sync.monitor.TriggerLatencyTracker;
+import io.alauda.jenkins.devops.sync.monitor.TriggerLatencyTracker.Stage;
 import io.alauda.jenkins.devops.sync.util.ConditionUtils;
 import io.alauda.jenkins.devops.sync.util.JenkinsUtils;
 import io.alauda.jenkins.devops.sync.util.NamespaceName;
@@ -43,7 +50,6 @@ import io.kubernetes.client.extended.workqueue.RateLimitingQueue;
 import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.informer.cache.Lister;
-import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -63,10 +69,11 @@ public class PipelineController
   private static final String CONTROLLER_NAME = "PipelineController";
 
   private RateLimitingQueue<Request> queue;
-  private LocalDateTime lastEventComingTime;
+  private volatile InformerWatchHealth watchHealth;
 
   @Override
   public void add(ControllerManagerBuilder managerBuilder, SharedInformerFactory factory) {
+    watchHealth = new InformerWatchHealth();
     DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
 
     SharedIndexInformer<V1alpha1Pipeline> informer =
@@ -74,28 +81,35 @@ public class PipelineController
     if (informer == null) {
       informer =
           factory.sharedIndexInformerFor(
-              callGeneratorParams ->
-                  api.listPipelineForAllNamespacesCall(
-                      null,
-                      null,
-                      null,
-                      "jenkins=" + AlaudaSyncGlobalConfiguration.get().getJenkinsService(),
-                      null,
-                      null,
-                      callGeneratorParams.resourceVersion,
-                      callGeneratorParams.timeoutSeconds,
-                      callGeneratorParams.watch,
-                      null,
-                      null),
+              watchHealth.track(
+                  ResourceVersionCache.resume(
+                      V1alpha1Pipeline.class,
+                      callGeneratorParams ->
+                          api.listPipelineForAllNamespacesCall(
+                              null,
+                              null,
+                              null,
+                              getLabelSelector(),
+                              null,
+                              null,
+                              callGeneratorParams.resourceVersion,
+                              callGeneratorParams.timeoutSeconds,
+                              callGeneratorParams.watch,
+                              null,
+                              null))),
               V1alpha1Pipeline.class,
               V1alpha1PipelineList.class,
               TimeUnit.MINUTES.toMillis(AlaudaSyncGlobalConfiguration.get().getResyncPeriod()));
     }
 
+    watchHealth.register(informer, V1alpha1Pipeline::getMetadata);
+
     PipelineClient client = new PipelineClient(informer);
     Clients.register(V1alpha1Pipeline.class, client);
 
-    queue = new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor());
+    queue =
+        new InstrumentedWorkQueue<>(
+            "pipeline", new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor()));
 
     Controller controller =
         ControllerBuilder.defaultBuilder(factory)
@@ -139,10 +153,14 @@ public class PipelineController
                                   CONTROLLER_NAME,
                                   pipeline.getMetadata().getNamespace(),
                                   pipeline.getMetadata().getName());
-                              return true;
+                              // Pipeline which is marked as completed will no longer match the
+                              // label selector, it is not deleted actually
+                              return !isFilteredOutAsCompleted(pipeline);
                             })
                         .build())
-            .withReconciler(new PipelineReconciler(new Lister<>(informer.getIndexer())))
+            .withReconciler(
+                new InstrumentedReconciler(
+                    "pipeline", queue, new PipelineReconciler(new Lister<>(informer.getIndexer()))))
             .withName(CONTROLLER_NAME)
             .withWorkerCount(4)
             .build();
@@ -150,9 +168,21 @@ public class PipelineController
     managerBuilder.addController(controller);
   }
 
-  @Override
-  public LocalDateTime lastEventComingTime() {
-    return lastEventComingTime;
+  private String getLabelSelector() {
+    String labelSelector = "jenkins=" + AlaudaSyncGlobalConfiguration.get().getJenkinsService();
+    if (AlaudaSyncGlobalConfiguration.get().isWatchActivePipelinesOnly()) {
+      labelSelector = labelSelector + ",!" + PIPELINE_LABELS_SYNC_COMPLETED;
+    }
+    return labelSelector;
+  }
+
+  private boolean isFilteredOutAsCompleted(V1alpha1Pipeline pipeline) {
+    if (!AlaudaSyncGlobalConfiguration.get().isWatchActivePipelinesOnly()) {
+      return false;
+    }
+
+    Map<String, String> labels = pipeline.getMetadata().getLabels();
+    return labels != null && labels.containsKey(PIPELINE_LABELS_SYNC_COMPLETED);
   }
 
   @Override
@@ -161,14 +191,8 @@ public class PipelineController
   }
 
   @Override
-  public boolean hasResourceExists() throws ApiException {
-    DevopsAlaudaIoV1alpha1Api api = new DevopsAlaudaIoV1alpha1Api();
-    V1alpha1PipelineList pipelineList =
-        api.listPipelineForAllNamespaces(null, null, null, null, 1, null, "0", null, null);
-
-    return pipelineList != null
-        && pipelineList.getItems() != null
-        && pipelineList.getItems().size() != 0;
+  public InformerWatchHealth watchHealth() {
+    return watchHealth;
   }
 
   class PipelineReconciler implements Reconciler {
@@ -183,16 +207,34 @@ public class PipelineController
 
     @Override
     public Result reconcile(Request request) {
-      lastEventComingTime = LocalDateTime.now();
-
-      Metrics.completedRequestCounter.labels("pipeline").inc();
-      Metrics.remainedRequestsGauge.labels("pipeline").set(queue.length());
-
       String namespace = request.getNamespace();
       String name = request.getName();
 
+      PipelineClient pipelineClient = (PipelineClient) Clients.get(V1alpha1Pipeline.class);
       V1alpha1Pipeline pipeline = lister.namespace(namespace).get(name);
       if (pipeline == null) {
+        if (AlaudaSyncGlobalConfiguration.get().isWatchActivePipelinesOnly()) {
+          // ask apiserver directly, the cached completed Pipeline might have been deleted
+          try {
+            if (pipelineClient.existsInApiServer(namespace, name)) {
+              logger.debug(
+                  "[{}] Pipeline '{}/{}' is completed and not in local lister, will skip this reconcile",
+                  getControllerName(),
+                  namespace,
+                  name);
+              return new Result(false);
+            }
+          } catch (ApiException e) {
+            logger.warn(
+                "[{}] Unable to check if Pipeline '{}/{}' exists, reason {}",
+                getControllerName(),
+                namespace,
+                name,
+                e.getMessage());
+            return new Result(true);
+          }
+        }
+
         logger.debug(
             "[{}] Cannot found Pipeline '{}/{}' in local lister, will try to remove it's correspondent Jenkins build",
             getControllerName(),
@@ -235,7 +277,6 @@ public class PipelineController
       }
 
       synchronized (pipeline.getMetadata().getUid().intern()) {
-        PipelineClient pipelineClient = (PipelineClient) Clients.get(V1alpha1Pipeline.class);
         V1alpha1Pipeline pipelineCopy = DeepCopyUtils.deepCopy(pipeline);
         // ensure we won't update Pipeline's spec
         pipelineCopy.setSpec(pipeline.getSpec());
@@ -290,6 +331,8 @@ public class PipelineController
             return new Result(!succeed);
           }
 
+          TriggerLatencyTracker.onReconciled(pipeline);
+
           WorkflowJob job = jenkinsClient.getJob(pipelineCopy, pipelineConfig);
           if (job == null) {
             logger.error(
@@ -304,7 +347,8 @@ public class PipelineController
             if (isRelayed(pipelineCopy)) {
               String originalName =
                   pipelineCopy.getMetadata().getLabels().get(PIPELINE_LABELS_REPLAYED_FROM);
-              V1alpha1Pipeline originalPipeline = lister.namespace(namespace).get(originalName);
+              // original Pipeline is usually completed, it might not in local lister
+              V1alpha1Pipeline originalPipeline = pipelineClient.get(namespace, originalName);
 
               logger.info(
                   "[{}] Pipeline '{}/{}' Replayed from Pipeline '{}/{}'",
@@ -320,6 +364,7 @@ public class PipelineController
             } else {
               JenkinsUtils.triggerJob(job, pipelineCopy);
             }
+            TriggerLatencyTracker.stamp(namespace, name, Stage.SCHEDULED);
 
             logger.info(
                 "[{}] Successfully triggered Pipeline '{}/{}'",
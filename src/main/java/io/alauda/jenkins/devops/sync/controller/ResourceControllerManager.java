@@ -10,11 +10,15 @@ import io.alauda.devops.java.client.apis.DevopsAlaudaIoV1alpha1Api;
 import io.alauda.devops.java.client.models.V1alpha1Jenkins;
 import io.alauda.devops.java.client.utils.DeepCopyUtils;
 import io.alauda.jenkins.devops.support.KubernetesCluster;
-import io.alauda.jenkins.devops.support.KubernetesClusterConfiguration;
 import io.alauda.jenkins.devops.support.KubernetesClusterConfigurationListener;
 import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
+import io.alauda.jenkins.devops.sync.ConnectionAliveDetectTask.HeartbeatResourceDetector;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.client.InformerCacheCompactor;
+import io.alauda.jenkins.devops.sync.client.InformerWatchHealth;
 import io.alauda.jenkins.devops.sync.client.JenkinsClient;
+import io.alauda.jenkins.devops.sync.client.ResourceVersionCache;
+import io.alauda.jenkins.devops.sync.monitor.ApiServerMetricsInterceptor;
 import io.alauda.jenkins.devops.sync.monitor.Metrics;
 import io.kubernetes.client.ApiClient;
 import io.kubernetes.client.ApiException;
@@ -26,6 +30,7 @@ import io.kubernetes.client.informer.SharedInformerFactory;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -43,47 +48,62 @@ public class ResourceControllerManager implements KubernetesClusterConfiguration
 
   private static final Logger logger = LoggerFactory.getLogger(ResourceControllerManager.class);
 
-  private ControllerManager controllerManager;
+  // every resource controller has its own informer factory and controller manager, so that we can
+  // restart one of them without relisting the resources of others
+  private final Map<ResourceController, SharedInformerFactory> informerFactories =
+      new ConcurrentHashMap<>();
+  private final Map<ResourceController, ControllerManager> controllerManagers =
+      new ConcurrentHashMap<>();
   private ExecutorService controllerManagerThread;
   private String managerStatus;
   private String baseDomain = ALAUDA_DEVOPS_USED_BASEDOMAIN;
   private AtomicBoolean started = new AtomicBoolean(false);
+  private volatile ApiClient informerClient;
 
   @Override
   public void onConfigChange(KubernetesCluster cluster, ApiClient client) {
-    this.start();
+    // api instances are created with the default client
+    ApiServerMetricsInterceptor.install(client);
+    ApiServerMetricsInterceptor.install(Configuration.getDefaultApiClient());
+    // informers send requests with the default client, but decode responses with their own client
+    informerClient =
+        InformerCacheCompactor.createInformerClient(Configuration.getDefaultApiClient());
+
+    // resourceVersion from another cluster is meaningless
+    start(false);
   }
 
   public synchronized void start() {
+    start(true);
+  }
+
+  /**
+   * @param resume whether informers should resume from the resourceVersion they synced before
+   */
+  private synchronized void start(boolean resume) {
     // shutdown the controllerManager started before
-    shutdown(null);
+    shutdown(null, resume);
+    if (!resume) {
+      ResourceVersionCache.clear();
+    }
 
-    controllerManagerThread = Executors.newSingleThreadExecutor();
+    controllerManagerThread = Executors.newCachedThreadPool();
     controllerManagerThread.submit(
         () -> {
           waitForJenkinsSetup();
 
           logger.info("[ResourceControllerManager] Starting initialize controller manager");
-          SharedInformerFactory informerFactory = new SharedInformerFactory();
 
           ExtensionList<ResourceController> resourceControllers = ResourceController.all();
           logger.info(
               "[ResourceControllerManager] Found {} resource controllers",
               resourceControllers.size());
 
-          ControllerManagerBuilder controllerManagerBuilder =
-              ControllerBuilder.controllerManagerBuilder(informerFactory);
-
-          resourceControllers.forEach(
-              resourceSyncController -> {
-                resourceSyncController.add(controllerManagerBuilder, informerFactory);
-              });
-
-          controllerManager = controllerManagerBuilder.build();
+          resourceControllers.forEach(this::initializeController);
 
           logger.info(
               "[ResourceControllerManager] ControllerManager initialized, waiting for informers sync");
-          informerFactory.startAllRegisteredInformers();
+          informerFactories.values().forEach(SharedInformerFactory::startAllRegisteredInformers);
 
           if (!waitForInformersSync()) {
             logger.warn(
@@ -97,10 +117,74 @@ public class ResourceControllerManager implements KubernetesClusterConfiguration
           Metrics.syncManagerUpGauge.set(1);
 
           logger.info("[ResourceControllerManager] Start controllerManager");
+          controllerManagers.values().forEach(manager -> controllerManagerThread.submit(manager::run));
+        });
+  }
+
+  /**
+   * Restart the given resource controller only, its informer will list resources again while the
+   * informers of other controllers keep running.
+   *
+   * @param resourceController resource controller to restart
+   */
+  public synchronized void restart(ResourceController resourceController) {
+    if (!isStarted() || !controllerManagers.containsKey(resourceController)) {
+      restart();
+      return;
+    }
+
+    logger.info(
+        "[ResourceControllerManager] Restarting resource controller {}",
+        resourceController.getClass().getSimpleName());
+    saveResourceVersion(resourceController);
+    controllerManagers.remove(resourceController).shutdown();
+    informerFactories.remove(resourceController);
+
+    ControllerManager controllerManager = initializeController(resourceController);
+    informerFactories.get(resourceController).startAllRegisteredInformers();
+
+    controllerManagerThread.submit(
+        () -> {
+          if (!waitForInformersSync(resourceController)) {
+            logger.warn(
+                "[ResourceControllerManager] Timeout to wait for informer of {} sync, will restart controllerManager",
+                resourceController.getClass().getSimpleName());
+            this.restart();
+            return;
+          }
           controllerManager.run();
         });
   }
 
+  /** Save the resourceVersion of the informer of the given controller only */
+  private void saveResourceVersion(ResourceController resourceController) {
+    if (!(resourceController instanceof HeartbeatResourceDetector)) {
+      return;
+    }
+
+    InformerWatchHealth watchHealth =
+        ((HeartbeatResourceDetector) resourceController).watchHealth();
+    if (watchHealth != null && watchHealth.getInformer() != null) {
+      ResourceVersionCache.save(watchHealth.getInformer());
+    }
+  }
+
+  private ControllerManager initializeController(ResourceController resourceController) {
+    SharedInformerFactory informerFactory =
+        informerClient == null
+            ? new SharedInformerFactory()
+            : new SharedInformerFactory(informerClient);
+    ControllerManagerBuilder controllerManagerBuilder =
+        ControllerBuilder.controllerManagerBuilder(informerFactory);
+
+    resourceController.add(controllerManagerBuilder, informerFactory);
+
+    ControllerManager controllerManager = controllerManagerBuilder.build();
+    informerFactories.put(resourceController, informerFactory);
+    controllerManagers.put(resourceController, controllerManager);
+    return controllerManager;
+  }
+
   private void waitForJenkinsSetup() {
     pollWithNoInitialDelay(
         Duration.ofMinutes(1),
@@ -130,6 +214,25 @@ public class ResourceControllerManager implements KubernetesClusterConfiguration
         Clients::allRegisteredResourcesSynced);
   }
 
+  /**
+   * Wait for the informer of the given controller only, the informers of other controllers have
+   * been synced and might be relisting for their own reasons.
+   */
+  private boolean waitForInformersSync(ResourceController resourceController) {
+    if (!(resourceController instanceof HeartbeatResourceDetector)) {
+      return waitForInformersSync();
+    }
+
+    InformerWatchHealth watchHealth =
+        ((HeartbeatResourceDetector) resourceController).watchHealth();
+    if (watchHealth == null) {
+      return waitForInformersSync();
+    }
+
+    return pollWithNoInitialDelay(
+        Duration.ofSeconds(5), Duration.ofMinutes(30), watchHealth::hasSynced);
+  }
+
   private boolean checkAndSetupJenkins() {
     String jenkinsService = AlaudaSyncGlobalConfiguration.get().getJenkinsService();
 
@@ -200,13 +303,20 @@ public class ResourceControllerManager implements KubernetesClusterConfiguration
   }
 
   public synchronized void shutdown(Throwable reason) {
+    shutdown(reason, true);
+  }
+
+  private void shutdown(Throwable reason, boolean saveResourceVersions) {
     started.set(false);
     Metrics.syncManagerUpGauge.set(0);
 
-    if (controllerManager != null) {
-      controllerManager.shutdown();
-      controllerManager = null;
+    // informers started later will resume from the last synced resourceVersion
+    if (saveResourceVersions) {
+      ResourceVersionCache.saveRegisteredResources();
     }
+    controllerManagers.values().forEach(ControllerManager::shutdown);
+    controllerManagers.clear();
+    informerFactories.clear();
 
     if (controllerManagerThread != null && !controllerManagerThread.isShutdown()) {
       controllerManagerThread.shutdown();
@@ -248,8 +358,7 @@ public class ResourceControllerManager implements KubernetesClusterConfiguration
   }
 
   public synchronized void restart() {
-    KubernetesCluster cluster = KubernetesClusterConfiguration.get().getCluster();
-    this.onConfigChange(cluster, Configuration.getDefaultApiClient());
+    this.start();
   }
 
   public static ResourceControllerManager getControllerManager() {
@@ -0,0 +1,102 @@
+package io.alauda.jenkins.devops.sync.listener;
+
+import hudson.Extension;
+import hudson.model.Computer;
+import hudson.model.Item;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.model.listeners.ItemListener;
+import hudson.slaves.ComputerListener;
+import hudson.slaves.OfflineCause;
+import io.alauda.jenkins.devops.sync.util.NodeLabelIndex;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import jenkins.model.NodeListener;
+
+/**
+ * Records whether nodes or labels of Jenkins changed, so that the Jenkins status only needs to be
+ * recomputed when something changed.
+ */
+public final class JenkinsStatusListener {
+
+  private static final AtomicBoolean labelsChanged = new AtomicBoolean(true);
+
+  private JenkinsStatusListener() {}
+
+  /**
+   * Check if labels changed since last check, the changed flag will be reset
+   *
+   * @return true if labels might have changed
+   */
+  public static boolean pollLabelsChanged() {
+    return labelsChanged.getAndSet(false);
+  }
+
+  static void markLabelsChanged() {
+    labelsChanged.set(true);
+  }
+
+  @Extension
+  public static class NodeChangeListener extends NodeListener {
+
+    @Override
+    protected void onCreated(@Nonnull Node node) {
+      NodeLabelIndex.get().onNodeAdded(node);
+      markLabelsChanged();
+    }
+
+    @Override
+    protected void onUpdated(@Nonnull Node oldOne, @Nonnull Node newOne) {
+      NodeLabelIndex.get().onNodeRemoved(oldOne);
+      NodeLabelIndex.get().onNodeAdded(newOne);
+      markLabelsChanged();
+    }
+
+    @Override
+    protected void onDeleted(@Nonnull Node node) {
+      NodeLabelIndex.get().onNodeRemoved(node);
+      markLabelsChanged();
+    }
+  }
+
+  @Extension
+  public static class ComputerChangeListener extends ComputerListener {
+
+    @Override
+    public void onOnline(Computer c, TaskListener listener) {
+      markLabelsChanged();
+    }
+
+    @Override
+    public void onOffline(@Nonnull Computer c, OfflineCause cause) {
+      markLabelsChanged();
+    }
+
+    @Override
+    public void onConfigurationChange() {
+      // the configuration of Jenkins itself is not covered by NodeListener
+      NodeLabelIndex.get().rebuild();
+      markLabelsChanged();
+    }
+  }
+
+  /** Labels assigned to jobs are also listed by Label Linked Jobs plugin */
+  @Extension
+  public static class JobChangeListener extends ItemListener {
+
+    @Override
+    public void onCreated(Item item) {
+      markLabelsChanged();
+    }
+
+    @Override
+    public void onUpdated(Item item) {
+      markLabelsChanged();
+    }
+
+    @Override
+    public void onDeleted(Item item) {
+      markLabelsChanged();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package io.alauda.jenkins.devops.sync.listener;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.alauda.jenkins.devops.sync.listener.PipelineSyncExecutor.PipelineJson;
+import io.alauda.jenkins.devops.sync.listener.PipelineSyncExecutor.PipelineStage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes stages of run with a streaming generator. The output is the same as the bean
+ * serialization of {@link PipelineJson}, but stages are written field by field so no bean
+ * introspection is needed, and the buffers of generator are recycled by Jackson.
+ *
+ * <p>The stages can also be written as gzip compressed json encoded in base64, consumers can tell
+ * it apart from plain json as it never starts with '{'.
+ */
+final class PipelineJsonWriter {
+
+  // only used to write edges of stages, which are implemented by Blue Ocean
+  private static final ObjectMapper EDGES_MAPPER =
+      new ObjectMapper()
+          .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+          .disable(SerializationFeature.FAIL_ON_SELF_REFERENCES);
+  private static final JsonFactory JSON_FACTORY = EDGES_MAPPER.getFactory();
+
+  private static final int ESTIMATED_STAGE_SIZE = 256;
+
+  private PipelineJsonWriter() {}
+
+  static String write(PipelineJson pipelineJson, boolean compressed) throws IOException {
+    int estimatedSize = (pipelineJson.getStages().size() + 1) * ESTIMATED_STAGE_SIZE;
+
+    if (!compressed) {
+      StringWriter writer = new StringWriter(estimatedSize);
+      try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+        writePipelineJson(generator, pipelineJson);
+      }
+      return writer.toString();
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(estimatedSize / 4);
+    // closing the generator will finish the gzip stream and pad the base64 stream
+    try (JsonGenerator generator =
+        JSON_FACTORY.createGenerator(
+            new GZIPOutputStream(Base64.getEncoder().wrap(out)), JsonEncoding.UTF8)) {
+      writePipelineJson(generator, pipelineJson);
+    }
+    return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+  }
+
+  private static void writePipelineJson(JsonGenerator generator, PipelineJson pipelineJson)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("start_stage_id", pipelineJson.getStartStageId());
+    generator.writeArrayFieldStart("stages");
+    for (PipelineStage stage : pipelineJson.getStages()) {
+      writeStage(generator, stage);
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private static void writeStage(JsonGenerator generator, PipelineStage stage) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("id", stage.getId());
+    generator.writeStringField("name", stage.getName());
+    generator.writeStringField("status", stage.getStatus());
+    generator.writeStringField("result", stage.getResult());
+    generator.writeStringField("start_time", stage.getStartTime());
+    writeLongField(generator, "duration_millis", stage.getDurationMillis());
+    writeLongField(generator, "pauseDurationMillis", stage.getPauseDurationMillis());
+    generator.writeFieldName("edges");
+    generator.writeObject(stage.getEdges());
+    generator.writeEndObject();
+  }
+
+  private static void writeLongField(JsonGenerator generator, String fieldName, Long value)
+      throws IOException {
+    if (value == null) {
+      generator.writeNullField(fieldName);
+    } else {
+      generator.writeNumberField(fieldName, value);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package io.alauda.jenkins.devops.sync.listener;
+
+import hudson.Extension;
+import hudson.model.Queue;
+import hudson.model.queue.QueueListener;
+import io.alauda.jenkins.devops.sync.action.AlaudaQueueAction;
+import io.alauda.jenkins.devops.sync.util.NamespaceName;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+
+/**
+ * Index of queue items of builds triggered by Pipelines, so the queue item of a Pipeline can be
+ * found without checking causes of all items in the queue. Items are indexed by the {@link
+ * AlaudaQueueAction} attached when they were scheduled.
+ *
+ * <p>Items restored from the queue of the last Jenkins session don't enter the queue again, so the
+ * index will be built from the queue on first use.
+ */
+@Extension
+public class PipelineQueueIndex extends QueueListener {
+
+  // Pipeline -> id of queue item
+  private static final Map<NamespaceName, Long> queuedItems = new ConcurrentHashMap<>();
+  private static volatile boolean initialized = false;
+
+  @Override
+  public void onEnterWaiting(Queue.WaitingItem wi) {
+    index(wi);
+  }
+
+  @Override
+  public void onLeft(Queue.LeftItem li) {
+    NamespaceName pipeline = getPipeline(li);
+    if (pipeline != null) {
+      queuedItems.remove(pipeline, li.getId());
+    }
+  }
+
+  /**
+   * Index the queue item by its Pipeline, it is also used when the Pipeline is bound to an item
+   * which has already entered the queue
+   *
+   * @param item queue item
+   */
+  public static void index(@Nonnull Queue.Item item) {
+    NamespaceName pipeline = getPipeline(item);
+    if (pipeline != null) {
+      queuedItems.put(pipeline, item.getId());
+    }
+  }
+
+  /**
+   * Find the queue item of the Pipeline
+   *
+   * @param pipeline namespace and name of Pipeline
+   * @return queue item of the Pipeline, null if the build of Pipeline is not in the queue
+   */
+  @CheckForNull
+  public static Queue.Item getQueuedItem(@Nonnull NamespaceName pipeline) {
+    Queue queue = Jenkins.getInstance().getQueue();
+    if (!initialized) {
+      initialize(queue);
+    }
+
+    Long id = queuedItems.get(pipeline);
+    if (id == null) {
+      return null;
+    }
+
+    Queue.Item item = queue.getItem(id);
+    if (item == null || item instanceof Queue.LeftItem) {
+      queuedItems.remove(pipeline, id);
+      return null;
+    }
+    return item;
+  }
+
+  private static synchronized void initialize(Queue queue) {
+    if (initialized) {
+      return;
+    }
+
+    for (Queue.Item item : queue.getItems()) {
+      NamespaceName pipeline = getPipeline(item);
+      if (pipeline != null) {
+        queuedItems.putIfAbsent(pipeline, item.getId());
+      }
+    }
+    initialized = true;
+  }
+
+  @CheckForNull
+  private static NamespaceName getPipeline(Queue.Item item) {
+    AlaudaQueueAction action = item.getAction(AlaudaQueueAction.class);
+    return action == null ? null : action.getMappedPipelineNamespaceName();
+  }
+}
@@ -15,74 +15,169 @@
  */
 package io.alauda.jenkins.devops.sync.listener;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import hudson.Extension;
 import hudson.model.Queue;
 import hudson.model.queue.QueueListener;
+import io.alauda.devops.java.client.models.V1alpha1Pipeline;
 import io.alauda.devops.java.client.models.V1alpha1PipelineConfig;
 import io.alauda.jenkins.devops.sync.JenkinsPipelineCause;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.monitor.InstrumentedWorkQueue;
+import io.alauda.jenkins.devops.sync.monitor.Metrics;
+import io.alauda.jenkins.devops.sync.monitor.TriggerLatencyTracker;
+import io.alauda.jenkins.devops.sync.monitor.TriggerLatencyTracker.Stage;
 import io.alauda.jenkins.devops.sync.util.PipelineUtils;
-import java.util.concurrent.ExecutorService;
+import io.kubernetes.client.extended.workqueue.DefaultRateLimitingQueue;
+import io.kubernetes.client.extended.workqueue.RateLimitingQueue;
+import io.kubernetes.client.models.V1Status;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Deletes the Pipeline of a queue item which was cancelled. Items are classified when they left
+ * the queue, which only reads local caches, then Pipelines to delete are grouped by namespace.
+ * Workers take a namespace from the queue and delete all pending Pipelines of it, so different
+ * namespaces are handled in parallel while a namespace is never handled by two workers at once.
+ */
 @Extension
 public class PipelineQueueListener extends QueueListener {
 
   private static final Logger logger =
       LoggerFactory.getLogger(PipelineQueueListener.class.getName());
-  private ExecutorService taskPool;
+  private static final int DEFAULT_WORKER_COUNT = 4;
+
+  // namespace -> names of Pipelines to delete, only modified atomically per namespace
+  private final Map<String, Set<String>> pendingDeletes = new ConcurrentHashMap<>();
+  private final AtomicInteger pendingDeleteCount = new AtomicInteger();
+  private final RateLimitingQueue<String> namespaceQueue;
 
   public PipelineQueueListener() {
-    taskPool = Executors.newFixedThreadPool(1);
+    namespaceQueue =
+        new InstrumentedWorkQueue<>(
+            "queue_left", new DefaultRateLimitingQueue<>(Executors.newSingleThreadExecutor()));
+
+    ScheduledExecutorService workers =
+        Executors.newScheduledThreadPool(
+            DEFAULT_WORKER_COUNT,
+            new ThreadFactoryBuilder().setNameFormat("PipelineQueueLeftWorker-%d").build());
+    for (int i = 0; i < DEFAULT_WORKER_COUNT; i++) {
+      workers.scheduleWithFixedDelay(this::worker, 0, 1, TimeUnit.SECONDS);
+    }
   }
 
   @Override
   public void onLeft(Queue.LeftItem leftItem) {
-    taskPool.submit(new TaskRun(leftItem));
-  }
+    long leftTime = System.currentTimeMillis();
+    logger.info("{} was left, task {}", leftItem, leftItem.task);
+
+    JenkinsPipelineCause pipelineCause = PipelineUtils.findAlaudaCause(leftItem);
+    if (!leftItem.isCancelled()) {
+      if (pipelineCause != null) {
+        TriggerLatencyTracker.stamp(
+            pipelineCause.getNamespace(), pipelineCause.getName(), Stage.LEFT_QUEUE, leftTime);
+      }
+      return;
+    }
+
+    if (pipelineCause == null) {
+      logger.warn("Can not found JenkinsPipelineCause, item url: " + leftItem.getUrl());
+      return;
+    }
+
+    String namespace = pipelineCause.getNamespace();
+    String name = pipelineCause.getName();
+
+    // we think that all types of Pipeline should keep the same behavior,
+    // don't delete the queue item when a job was disabled
+    if (isPipelineConfigDisabled(namespace, name)) {
+      logger.info(
+          "PipelineConfig of Pipeline {}/{} was disabled, don't delete the queue item {}",
+          namespace,
+          name,
+          leftItem.getId());
+      return;
+    }
 
-  class TaskRun implements Runnable {
-    private Queue.LeftItem item;
+    pendingDeletes.compute(
+        namespace,
+        (ns, names) -> {
+          Set<String> pendingNames = names == null ? new HashSet<>() : names;
+          if (pendingNames.add(name)) {
+            Metrics.queueLeftPendingDeletesGauge.set(pendingDeleteCount.incrementAndGet());
+          }
+          return pendingNames;
+        });
+    namespaceQueue.add(namespace);
+  }
 
-    public TaskRun(Queue.LeftItem item) {
-      this.item = item;
+  private boolean isPipelineConfigDisabled(String namespace, String pipelineName) {
+    V1alpha1Pipeline pipeline =
+        Clients.get(V1alpha1Pipeline.class).lister().namespace(namespace).get(pipelineName);
+    if (pipeline == null
+        || pipeline.getSpec() == null
+        || pipeline.getSpec().getPipelineConfig() == null) {
+      return false;
     }
 
-    @Override
-    public void run() {
-      logger.info("{} was left, task {}", item, item.task);
+    V1alpha1PipelineConfig pc =
+        Clients.get(V1alpha1PipelineConfig.class)
+            .lister()
+            .namespace(namespace)
+            .get(pipeline.getSpec().getPipelineConfig().getName());
+    return pc != null && pc.getSpec() != null && Boolean.TRUE.equals(pc.getSpec().isDisabled());
+  }
 
-      boolean isCancelled = item.isCancelled();
-      if (!isCancelled) {
+  private void worker() {
+    while (!namespaceQueue.isShuttingDown()) {
+      String namespace = null;
+      try {
+        namespace = namespaceQueue.get();
+      } catch (InterruptedException e) {
+        logger.error("PipelineQueueListener worker interrupted.", e);
+        Thread.currentThread().interrupt();
+      }
+
+      if (namespace == null) {
+        logger.info("PipelineQueueListener worker exiting because work queue has shutdown..");
         return;
       }
 
-      JenkinsPipelineCause pipelineCause = PipelineUtils.findAlaudaCause(item);
-      if (pipelineCause != null) {
-        String namespace = pipelineCause.getNamespace();
-        String name = pipelineCause.getName();
-
-        // we think that all types of Pipeline should keep the same behavior,
-        // don't delete the queue item when a job was disabled
-        V1alpha1PipelineConfig pc =
-            Clients.get(V1alpha1PipelineConfig.class).lister().namespace(namespace).get(name);
-        if (pc.getSpec().isDisabled()) {
-          logger.info(
-              "PipelineConfig {}/{} was disabled, don't delete the queue item {}",
-              namespace,
-              name,
-              item.getId());
-          return;
-        }
+      try {
+        deletePipelines(namespace);
+      } finally {
+        namespaceQueue.done(namespace);
+      }
+    }
+  }
 
-        PipelineUtils.delete(namespace, name);
-        logger.info(String.format("Pipeline %s-%s was deleted.", namespace, name));
-      } else {
-        String itemUrl = item.getUrl();
-        logger.warn("Can not found JenkinsPipelineCause, item url: " + itemUrl);
+  private void deletePipelines(String namespace) {
+    Set<String> names = pendingDeletes.remove(namespace);
+    if (names == null) {
+      return;
+    }
+    Metrics.queueLeftPendingDeletesGauge.set(pendingDeleteCount.addAndGet(-names.size()));
+
+    for (String name : names) {
+      String result = "failed";
+      try {
+        V1Status status = PipelineUtils.delete(namespace, name);
+        if (status != null) {
+          result = "deleted";
+          logger.info(String.format("Pipeline %s-%s was deleted.", namespace, name));
+        }
+      } catch (RuntimeException e) {
+        logger.warn("Failed to delete Pipeline {}/{}, reason {}", namespace, name, e.getMessage());
       }
+      Metrics.queueLeftDeleteCounter.labels(result).inc();
     }
   }
 }
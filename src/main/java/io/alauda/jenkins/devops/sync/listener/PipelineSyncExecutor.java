@@ -9,17 +9,12 @@ import com.cloudbees.workflow.rest.external.RunExt;
 import com.cloudbees.workflow.rest.external.StageNodeExt;
 import com.cloudbees.workflow.rest.external.StatusExt;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.jenkinsci.plugins.badge.action.BadgeAction;
 import hudson.PluginManager;
 import hudson.init.InitMilestone;
 import hudson.init.Initializer;
 import hudson.model.Action;
-import hudson.model.Cause;
-import hudson.model.CauseAction;
 import hudson.model.Job;
 import hudson.model.Run;
 import hudson.tasks.junit.TestResultAction;
@@ -32,12 +27,17 @@ import io.alauda.devops.java.client.models.V1alpha1PipelineStatusInfoItem;
 import io.alauda.devops.java.client.models.V1alpha1PipelineStatusJenkins;
 import io.alauda.devops.java.client.models.V1alpha1PipelineStatusJenkinsBuilder;
 import io.alauda.devops.java.client.utils.DeepCopyUtils;
+import io.alauda.jenkins.devops.sync.AlaudaSyncGlobalConfiguration;
 import io.alauda.jenkins.devops.sync.JenkinsPipelineCause;
 import io.alauda.jenkins.devops.sync.action.PipelineAction;
 import io.alauda.jenkins.devops.sync.client.Clients;
 import io.alauda.jenkins.devops.sync.client.JenkinsClient;
+import io.alauda.jenkins.devops.sync.client.PipelineClient;
 import io.alauda.jenkins.devops.sync.constants.Constants;
 import io.alauda.jenkins.devops.sync.exception.PipelineException;
+import io.alauda.jenkins.devops.sync.monitor.BuildLifecycleMetrics;
+import io.alauda.jenkins.devops.sync.monitor.TriggerLatencyTracker;
+import io.alauda.jenkins.devops.sync.monitor.TriggerLatencyTracker.Stage;
 import io.alauda.jenkins.devops.sync.scm.LastChangeData;
 import io.alauda.jenkins.devops.sync.util.ConditionUtils;
 import io.alauda.jenkins.devops.sync.util.JenkinsUtils;
@@ -52,6 +52,7 @@ import io.kubernetes.client.extended.controller.reconciler.Result;
 import io.kubernetes.client.extended.workqueue.DefaultRateLimitingQueue;
 import io.kubernetes.client.extended.workqueue.RateLimitingQueue;
 import io.kubernetes.client.extended.workqueue.ratelimiter.BucketRateLimiter;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.time.Duration;
@@ -65,6 +66,7 @@ import javax.annotation.Nonnull;
 import jenkins.model.Jenkins;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
+import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
@@ -99,6 +101,11 @@ public class PipelineSyncExecutor implements Runnable {
     logger.info("PipelineSyncExecutor initialized :P");
   }
 
+  private static volatile BlueOceanDisplayURL blueOceanDisplayURL;
+  // number of plugins when BlueOceanDisplayURL was not found, it will be looked up again only after
+  // more plugins are installed
+  private static volatile int blueOceanMissingPluginCount = -1;
+
   private ScheduledExecutorService executor;
   private RateLimitingQueue<WorkflowRun> runQueue;
 
@@ -179,9 +186,11 @@ public class PipelineSyncExecutor implements Runnable {
       }
 
       try {
-        Result result = syncWorkflowRunToPipeline(run);
+        // the flow graph will only be walked again when it changed since last sync
+        RunExt runExt = RunStagesCache.get(run).getRunExt(run);
+        Result result = syncWorkflowRunToPipeline(run, runExt);
 
-        StatusExt status = RunExt.create(run).getStatus();
+        StatusExt status = runExt.getStatus();
         // In these conditions, we will requeue the run anyway despite what the result returned
         // 1. The build is running
         // 2. The build is waiting for input
@@ -222,9 +231,11 @@ public class PipelineSyncExecutor implements Runnable {
    * Sync details of run to Pipeline
    *
    * @param run run need to be synced
+   * @param runExt details of run
    * @return the result
    */
-  private Result syncWorkflowRunToPipeline(WorkflowRun run) throws PipelineException {
+  private Result syncWorkflowRunToPipeline(WorkflowRun run, RunExt runExt)
+      throws PipelineException {
     logger.debug("Starting to poll WorkflowRun to update Pipeline status");
     Result result = new Result(false);
 
@@ -238,8 +249,9 @@ public class PipelineSyncExecutor implements Runnable {
     String namespace = relatedPipeline.getNamespace();
     String name = relatedPipeline.getName();
 
+    // the Pipeline might be filtered out from local lister if it is completed
     V1alpha1Pipeline pipeline =
-        Clients.get(V1alpha1Pipeline.class).lister().namespace(namespace).get(name);
+        ((PipelineClient) Clients.get(V1alpha1Pipeline.class)).get(namespace, name);
 
     if (pipeline == null) {
       logger.debug("Won't sync run {} to pipeline, no Pipeline", run.getFullDisplayName());
@@ -251,20 +263,25 @@ public class PipelineSyncExecutor implements Runnable {
       // ensure we won't update pipeline's spec
       pipelineCopy.setSpec(pipeline.getSpec());
 
+      RunActions actions = new RunActions(run);
+
       addURLsToAnnotations(run, pipelineCopy);
-      addBadgesToAnnotations(run, pipelineCopy);
-      addSCMToAnnotations(run, pipelineCopy);
-      addTestResultAnnotations(run, pipelineCopy);
-      addCausesToAnnotation(run, pipelineCopy);
-      addRunDetailsToStatus(run, pipelineCopy);
+      addBadgesToAnnotations(actions, pipelineCopy);
+      addSCMToAnnotations(run, actions, pipelineCopy);
+      addTestResultAnnotations(run, actions, pipelineCopy);
+      addCausesToAnnotation(actions, pipelineCopy);
+      addRunDetailsToStatus(run, runExt, pipelineCopy);
 
-      mountActionsPipeline(run.getAllActions(), pipelineCopy);
+      mountActionsPipeline(actions.getAll(), pipelineCopy);
+      addTriggerLatencyToAnnotations(pipelineCopy);
 
       boolean succeed = Clients.get(V1alpha1Pipeline.class).update(pipeline, pipelineCopy);
       if (!succeed) {
         logger.debug("Failed updated pipeline: '{}/{}'", namespace, name);
         return result;
       } else {
+        TriggerLatencyTracker.complete(namespace, name);
+        BuildLifecycleMetrics.onSynced(run, pipeline, pipelineCopy);
         logger.debug("updated pipeline: '{}/{}'", namespace, name);
       }
     }
@@ -272,23 +289,47 @@ public class PipelineSyncExecutor implements Runnable {
     return result;
   }
 
-  private void addRunDetailsToStatus(WorkflowRun run, V1alpha1Pipeline pipeline)
+  private void addTriggerLatencyToAnnotations(V1alpha1Pipeline pipeline) {
+    Map<String, String> annotations = pipeline.getMetadata().getAnnotations();
+    if (annotations == null) {
+      return;
+    }
+
+    String namespace = pipeline.getMetadata().getNamespace();
+    String name = pipeline.getMetadata().getName();
+    TriggerLatencyTracker.stamp(namespace, name, Stage.FIRST_SYNCED);
+
+    String triggerLatency = TriggerLatencyTracker.toJson(namespace, name);
+    if (triggerLatency != null) {
+      annotations.put(ANNOTATION_PIPELINE_TRIGGER_LATENCY.get().toString(), triggerLatency);
+    }
+  }
+
+  private void addRunDetailsToStatus(WorkflowRun run, RunExt runExt, V1alpha1Pipeline pipeline)
       throws PipelineException {
-    RunExt runExt = RunExt.create(run);
-    BlueRun blueRun;
-    try {
-      blueRun = BlueRunFactory.getRun(run, null);
-      if (blueRun == null) {
+    RunStagesCache.RunStages runStages = RunStagesCache.get(run);
+    boolean compressed = AlaudaSyncGlobalConfiguration.get().isCompressStages();
+    String blueJson = runStages.getStagesJsonIfUpToDate(runExt, compressed);
+    if (blueJson == null) {
+      BlueRun blueRun;
+      try {
+        blueRun = BlueRunFactory.getRun(run, null);
+        if (blueRun == null) {
+          throw new PipelineException(
+              String.format(
+                  "Unable to poll run %s, reason: cannot find BlueRun", run.getDisplayName()));
+        }
+      } catch (Throwable t) {
         throw new PipelineException(
-            String.format(
-                "Unable to poll run %s, reason: cannot find BlueRun", run.getDisplayName()));
+            String.format("Unable to poll run %s", run.getDisplayName()), t);
       }
-    } catch (Throwable t) {
-      throw new PipelineException(String.format("Unable to poll run %s", run.getDisplayName()), t);
-    }
 
-    PipelineJson pipelineJson = getBlueOceanStages(runExt, blueRun);
-    String blueJson = pipelineJson.toBlueJson();
+      PipelineJson pipelineJson = getBlueOceanStages(runExt, blueRun);
+      blueJson = pipelineJson.toBlueJson(compressed);
+      if (blueJson != null) {
+        runStages.update(runExt, blueJson, compressed);
+      }
+    }
 
     long started = run.getStartTimeInMillis();
     DateTime startTime = null;
@@ -369,6 +410,23 @@ public class PipelineSyncExecutor implements Runnable {
         break;
     }
     condition.setLastAttempt(DateTime.now());
+
+    if (CONDITION_STATUS_TRUE.equals(condition.getStatus())) {
+      markAsCompleted(pipeline);
+    }
+  }
+
+  /**
+   * Add completed label to Pipeline, so that the completed Pipeline can be filtered out by label
+   * selector
+   */
+  private void markAsCompleted(V1alpha1Pipeline pipeline) {
+    Map<String, String> labels = pipeline.getMetadata().getLabels();
+    if (labels == null) {
+      labels = new HashMap<>();
+      pipeline.getMetadata().setLabels(labels);
+    }
+    labels.put(PIPELINE_LABELS_SYNC_COMPLETED, "true");
   }
 
   private PipelineJson getBlueOceanStages(RunExt runExt, BlueRun blueRun) {
@@ -423,74 +481,38 @@ public class PipelineSyncExecutor implements Runnable {
   }
 
   private void addURLsToAnnotations(WorkflowRun run, V1alpha1Pipeline pipeline) {
-    String namespace = pipeline.getMetadata().getNamespace();
+    Map<String, String> annotations = pipeline.getMetadata().getAnnotations();
 
+    // urls are constant during the whole run, no need to compute them after the first sync. But
+    // the BlueOcean url might fail to resolve, so we will retry until we get it if BlueOcean is
+    // available
     String buildUrl = run.getUrl();
-    String logsUrl = joinPaths(buildUrl, "/consoleText");
-    String logsConsoleUrl = joinPaths(buildUrl, "/console");
-    String progressiveLogUrl = joinPaths(buildUrl, "/logText/progressiveText");
-
-    String viewLogUrl;
-    String stagesUrl;
-    String stagesLogUrl;
-    String stepsUrl;
-    String stepsLogUrl;
+    String buildUriKey = ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_BUILD_URI.get().toString();
+    String blueOceanUrlKey = ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_BLUEOCEAN_LOG_URL.get().toString();
+    if (buildUrl.equals(annotations.get(buildUriKey))
+        && (StringUtils.isNotEmpty(annotations.get(blueOceanUrlKey)) || isBlueOceanUnavailable())) {
+      return;
+    }
+
+    String namespace = pipeline.getMetadata().getNamespace();
+
+    StringBuilder nodesUrlBuilder =
+        new StringBuilder("/blue/rest/organizations/jenkins/pipelines/").append(namespace);
     if (JenkinsUtils.fromMultiBranch(run)) {
       WorkflowJob branchJob = run.getParent();
       WorkflowMultiBranchProject multiBranchProject =
           (WorkflowMultiBranchProject) branchJob.getParent();
-      viewLogUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/branches/%s/runs/%d/nodes/%%d/steps/%%d/log/",
-              namespace, multiBranchProject.getName(), branchJob.getName(), run.number);
-
-      stagesUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/branches/%s/runs/%d/nodes/",
-              namespace, multiBranchProject.getName(), branchJob.getName(), run.number);
-
-      stagesLogUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/branches/%s/runs/%d/nodes/%%d/log/",
-              namespace, multiBranchProject.getName(), branchJob.getName(), run.number);
-
-      stepsLogUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/branches/%s/runs/%d/nodes/%%d/log/",
-              namespace, multiBranchProject.getName(), branchJob.getName(), run.number);
-
-      stepsUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/branches/%s/runs/%d/nodes/%%d/steps/",
-              namespace, multiBranchProject.getName(), branchJob.getName(), run.number);
+      nodesUrlBuilder
+          .append("/pipelines/")
+          .append(multiBranchProject.getName())
+          .append("/branches/")
+          .append(branchJob.getName());
     } else {
       Job wfJob = run.getParent();
-
-      viewLogUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/runs/%d/nodes/%%d/steps/%%d/log/",
-              namespace, wfJob.getName(), run.number);
-
-      stagesLogUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/runs/%d/nodes/%%d/log/",
-              namespace, wfJob.getName(), run.number);
-
-      stagesUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/runs/%d/nodes/",
-              namespace, wfJob.getName(), run.number);
-
-      stepsLogUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/runs/%d/nodes/%%d/log/",
-              namespace, wfJob.getName(), run.number);
-
-      stepsUrl =
-          String.format(
-              "/blue/rest/organizations/jenkins/pipelines/%s/pipelines/%s/runs/%d/nodes/%%d/steps/",
-              namespace, wfJob.getName(), run.number);
+      nodesUrlBuilder.append("/pipelines/").append(wfJob.getName());
     }
+    String nodesUrl =
+        nodesUrlBuilder.append("/runs/").append(run.number).append("/nodes/").toString();
 
     String logsBlueOceanUrl = "";
     try {
@@ -499,67 +521,72 @@ public class PipelineSyncExecutor implements Runnable {
       logger.debug("Failed to get BlueOceanUrl, reason {}", e.getMessage());
     }
 
-    Map<String, String> annotations = pipeline.getMetadata().getAnnotations();
-
-    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_BUILD_URI.get().toString(), buildUrl);
-    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_LOG_URL.get().toString(), logsUrl);
+    annotations.put(buildUriKey, buildUrl);
     annotations.put(
-        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_CONSOLE_LOG_URL.get().toString(), logsConsoleUrl);
+        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_LOG_URL.get().toString(),
+        joinPaths(buildUrl, "/consoleText"));
     annotations.put(
-        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_BLUEOCEAN_LOG_URL.get().toString(), logsBlueOceanUrl);
-    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_VIEW_LOG.get().toString(), viewLogUrl);
-    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_STAGES.get().toString(), stagesUrl);
-    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_STAGES_LOG.get().toString(), stagesLogUrl);
-    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_STEPS.get().toString(), stepsUrl);
-    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_STEPS_LOG.get().toString(), stepsLogUrl);
+        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_CONSOLE_LOG_URL.get().toString(),
+        joinPaths(buildUrl, "/console"));
+    annotations.put(blueOceanUrlKey, logsBlueOceanUrl);
     annotations.put(
-        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_PROGRESSIVE_LOG.get().toString(), progressiveLogUrl);
+        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_VIEW_LOG.get().toString(), nodesUrl + "%d/steps/%d/log/");
+    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_STAGES.get().toString(), nodesUrl);
+    annotations.put(
+        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_STAGES_LOG.get().toString(), nodesUrl + "%d/log/");
+    annotations.put(
+        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_STEPS.get().toString(), nodesUrl + "%d/steps/");
+    annotations.put(
+        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_STEPS_LOG.get().toString(), nodesUrl + "%d/log/");
+    annotations.put(
+        ALAUDA_DEVOPS_ANNOTATIONS_JENKINS_PROGRESSIVE_LOG.get().toString(),
+        joinPaths(buildUrl, "/logText/progressiveText"));
   }
 
-  @SuppressWarnings("unchecked")
   private String getBlueOceanUrl(WorkflowRun run) throws Exception {
-    String logsBlueOceanUrl; // there are utility functions in the blueocean-dashboard plugin
-    // which construct
-    // the entire blueocean URI; however, attempting to pull that in as
-    // a maven dependency was untenable from an injected test
-    // perspective;
-    // so we are leveraging reflection;
-    Jenkins jenkins = Jenkins.get();
-    // NOTE, the excessive null checking is to keep `mvn findbugs:gui`
-    // quiet
-    PluginManager pluginMgr = jenkins.getPluginManager();
-    ClassLoader cl = pluginMgr.uberClassLoader;
-    if (cl != null) {
-      Class weburlbldr =
-          cl.loadClass("org.jenkinsci.plugins.blueoceandisplayurl.BlueOceanDisplayURLImpl");
-      Constructor ctor = weburlbldr.getConstructor();
-      Object displayURL = ctor.newInstance();
-      Method getRunURLMethod = weburlbldr.getMethod("getRunURL", Run.class);
-      Object blueOceanURI = getRunURLMethod.invoke(displayURL, run);
-      logsBlueOceanUrl = blueOceanURI.toString();
-      logsBlueOceanUrl = logsBlueOceanUrl.replaceAll("http://unconfigured-jenkins-location/", "");
-      return logsBlueOceanUrl;
-    }
-    throw new PipelineException("Unable to find ClassLoader");
-  }
+    // there are utility functions in the blueocean-dashboard plugin which construct the entire
+    // blueocean URI; however, attempting to pull that in as a maven dependency was untenable from
+    // an injected test perspective; so we are leveraging reflection;
+    BlueOceanDisplayURL displayURL = blueOceanDisplayURL;
+    if (displayURL == null) {
+      if (isBlueOceanUnavailable()) {
+        return "";
+      }
 
-  private void addSCMToAnnotations(@Nonnull Run run, V1alpha1Pipeline pipeline) {
-    if (!(run instanceof WorkflowRun)) {
-      return;
+      int pluginCount = Jenkins.get().getPluginManager().getPlugins().size();
+      try {
+        displayURL = BlueOceanDisplayURL.load();
+      } catch (ClassNotFoundException e) {
+        blueOceanMissingPluginCount = pluginCount;
+        throw e;
+      }
+      blueOceanDisplayURL = displayURL;
     }
 
+    String logsBlueOceanUrl = displayURL.getRunURL(run);
+    return logsBlueOceanUrl.replace("http://unconfigured-jenkins-location/", "");
+  }
+
+  /** BlueOcean display url plugin was not found and no plugin was installed since then */
+  private static boolean isBlueOceanUnavailable() {
+    return blueOceanDisplayURL == null
+        && blueOceanMissingPluginCount == Jenkins.get().getPluginManager().getPlugins().size();
+  }
+
+  private void addSCMToAnnotations(
+      @Nonnull WorkflowRun run, RunActions actions, V1alpha1Pipeline pipeline) {
     Map<String, String> annotations = pipeline.getMetadata().getAnnotations();
     if (annotations == null) {
       return;
     }
 
-    WorkflowRun wfRun = (WorkflowRun) run;
-    WorkflowJob wfJob = wfRun.getParent();
+    WorkflowJob wfJob = run.getParent();
     if (wfJob.getParent() instanceof WorkflowMultiBranchProject) {
       PipelineGenerator.addBranchSCMToAnnotations(wfJob, annotations);
     }
 
-    LastChangeData lastChangeData = wfRun.getAction(LastChangeData.class);
+    // LastChangeData will be updated by every checkout, so it cannot be cached
+    LastChangeData lastChangeData = actions.getAction(LastChangeData.class);
     if (lastChangeData == null) {
       return;
     }
@@ -571,57 +598,49 @@ public class PipelineSyncExecutor implements Runnable {
     annotations.put(ANNOTATION_PIPELINE_COMMIT_MSG.get().toString(), lastChangeData.getMessage());
   }
 
-  private void addTestResultAnnotations(WorkflowRun run, V1alpha1Pipeline pipeline) {
+  private void addTestResultAnnotations(
+      WorkflowRun run, RunActions actions, V1alpha1Pipeline pipeline) {
     Map<String, String> annotations = pipeline.getMetadata().getAnnotations();
     if (annotations == null) {
       return;
     }
 
-    TestResultAction testResultAction = run.getAction(hudson.tasks.junit.TestResultAction.class);
+    TestResultAction testResultAction = actions.getAction(TestResultAction.class);
     if (testResultAction == null) {
       return;
     }
 
-    annotations.put(
-        ANNOTATION_TEST_PASSED.get().toString(),
-        String.valueOf(testResultAction.getPassedTests().size()));
-    annotations.put(
-        ANNOTATION_TEST_FAILED.get().toString(), String.valueOf(testResultAction.getFailCount()));
-    annotations.put(
-        ANNOTATION_TEST_TOTAL.get().toString(), String.valueOf(testResultAction.getTotalCount()));
-    annotations.put(
-        ANNOTATION_TEST_SKIPPED.get().toString(), String.valueOf(testResultAction.getSkipCount()));
-  }
-
-  private void addCausesToAnnotation(WorkflowRun run, V1alpha1Pipeline pipelineCopy) {
-    List<Action> actions = (List<Action>) run.getAllActions();
-    List<Cause> allCauses = new ArrayList<>();
-    for (Action action : actions) {
-      if (!(action instanceof CauseAction)) {
-        continue;
-      }
+    TestResultSummary summary = TestResultSummary.of(run, testResultAction);
+    annotations.put(ANNOTATION_TEST_PASSED.get().toString(), String.valueOf(summary.getPassed()));
+    annotations.put(ANNOTATION_TEST_FAILED.get().toString(), String.valueOf(summary.getFailed()));
+    annotations.put(ANNOTATION_TEST_TOTAL.get().toString(), String.valueOf(summary.getTotal()));
+    annotations.put(ANNOTATION_TEST_SKIPPED.get().toString(), String.valueOf(summary.getSkipped()));
 
-      CauseAction causeAction = (CauseAction) action;
-      allCauses.addAll(causeAction.getCauses());
+    List<String> failedTestsDigest = summary.getFailedTestsDigest();
+    if (failedTestsDigest != null) {
+      annotations.put(
+          ANNOTATION_TEST_FAILED_DIGEST.get().toString(),
+          JSONArray.fromObject(failedTestsDigest).toString());
     }
+  }
 
-    if (allCauses.size() > 1) {
-      Set<String> allCauseDetails = new HashSet<>();
-      allCauses.forEach(item -> allCauseDetails.add(PipelineGenerator.causeConvert(item)));
-
-      Map<String, String> annotations = pipelineCopy.getMetadata().getAnnotations();
-      if (annotations == null) {
-        annotations = new HashMap<>();
-        pipelineCopy.getMetadata().setAnnotations(annotations);
-      }
+  private void addCausesToAnnotation(RunActions actions, V1alpha1Pipeline pipelineCopy) {
+    // the annotation written when creating the Pipeline might only contain part of the causes,
+    // so we always write the causes of run
+    String causesDetails = actions.getCausesDetails();
+    if (causesDetails == null) {
+      return;
+    }
 
-      annotations.put(
-          ALAUDA_DEVOPS_ANNOTATIONS_CAUSES_DETAILS.get().toString(),
-          JSONArray.fromObject(allCauseDetails).toString());
+    Map<String, String> annotations = pipelineCopy.getMetadata().getAnnotations();
+    if (annotations == null) {
+      annotations = new HashMap<>();
+      pipelineCopy.getMetadata().setAnnotations(annotations);
     }
+    annotations.put(ALAUDA_DEVOPS_ANNOTATIONS_CAUSES_DETAILS.get().toString(), causesDetails);
   }
 
-  private void addBadgesToAnnotations(@Nonnull Run run, V1alpha1Pipeline pipeline) {
+  private void addBadgesToAnnotations(RunActions actions, V1alpha1Pipeline pipeline) {
     Map<String, String> annotations = pipeline.getMetadata().getAnnotations();
     if (annotations == null) {
       return;
@@ -629,14 +648,10 @@ public class PipelineSyncExecutor implements Runnable {
 
     JSONArray jsonArray = new JSONArray();
 
-    List<? extends Action> actions = run.getAllActions();
     actions
-        .stream()
-        .filter(action -> action instanceof BadgeAction)
+        .getActions(BadgeAction.class)
         .forEach(
-            action -> {
-              BadgeAction badgeAction = (BadgeAction) action;
-
+            badgeAction -> {
               JSONObject jsonObject = new JSONObject();
               jsonObject.put("id", badgeAction.getId());
               jsonObject.put("text", badgeAction.getText());
@@ -662,20 +677,49 @@ public class PipelineSyncExecutor implements Runnable {
    */
   public static String joinPaths(String... strings) {
     StringBuilder sb = new StringBuilder();
+    boolean pendingSlash = false;
     for (int i = 0; i < strings.length; i++) {
-      sb.append(strings[i]);
+      String str = String.valueOf(strings[i]);
+      for (int j = 0; j < str.length(); j++) {
+        char c = str.charAt(j);
+        if (c == '/') {
+          pendingSlash = true;
+          continue;
+        }
+
+        if (pendingSlash) {
+          appendSlash(sb, c);
+          pendingSlash = false;
+        }
+        sb.append(c);
+      }
+
       if (i < strings.length - 1) {
-        sb.append("/");
+        pendingSlash = true;
       }
     }
-    String joined = sb.toString();
 
-    // And normalize it...
-    return joined
-        .replaceAll("/+", "/")
-        .replaceAll("/\\?", "?")
-        .replaceAll("/#", "#")
-        .replaceAll(":/", "://");
+    if (pendingSlash) {
+      appendSlash(sb, null);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Append a single / which replaces a sequence of slashes. It is dropped before ? and #, and
+   * doubled after : so that the scheme of URL is kept.
+   */
+  private static void appendSlash(StringBuilder sb, Character next) {
+    if (next != null && (next == '?' || next == '#')) {
+      return;
+    }
+
+    int length = sb.length();
+    if (length > 0 && sb.charAt(length - 1) == ':') {
+      sb.append("//");
+    } else {
+      sb.append('/');
+    }
   }
 
   private String getRunResult(Run run) {
@@ -720,6 +764,38 @@ public class PipelineSyncExecutor implements Runnable {
     return new ThreadFactoryBuilder().setNameFormat("PipelineSyncWorker" + "-%d").build();
   }
 
+  /** Cached reflective handle of BlueOceanDisplayURLImpl#getRunURL */
+  private static final class BlueOceanDisplayURL {
+
+    private final Object displayURL;
+    private final Method getRunURLMethod;
+
+    private BlueOceanDisplayURL(Object displayURL, Method getRunURLMethod) {
+      this.displayURL = displayURL;
+      this.getRunURLMethod = getRunURLMethod;
+    }
+
+    @SuppressWarnings("unchecked")
+    static BlueOceanDisplayURL load() throws Exception {
+      // NOTE, the excessive null checking is to keep `mvn findbugs:gui` quiet
+      PluginManager pluginMgr = Jenkins.get().getPluginManager();
+      ClassLoader cl = pluginMgr.uberClassLoader;
+      if (cl == null) {
+        throw new PipelineException("Unable to find ClassLoader");
+      }
+
+      Class weburlbldr =
+          cl.loadClass("org.jenkinsci.plugins.blueoceandisplayurl.BlueOceanDisplayURLImpl");
+      Constructor ctor = weburlbldr.getConstructor();
+      return new BlueOceanDisplayURL(
+          ctor.newInstance(), weburlbldr.getMethod("getRunURL", Run.class));
+    }
+
+    String getRunURL(Run run) throws Exception {
+      return getRunURLMethod.invoke(displayURL, run).toString();
+    }
+  }
+
   public static class PipelineJson {
 
     private String startStageId;
@@ -738,13 +814,19 @@ public class PipelineSyncExecutor implements Runnable {
     }
 
     public String toBlueJson() {
-      ObjectMapper blueJsonMapper = new ObjectMapper();
-      blueJsonMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-      blueJsonMapper.disable(SerializationFeature.FAIL_ON_SELF_REFERENCES);
+      return toBlueJson(false);
+    }
 
+    /**
+     * Serialize stages to json
+     *
+     * @param compressed whether the json should be gzip compressed and encoded in base64
+     * @return serialized stages, null if failed to serialize
+     */
+    public String toBlueJson(boolean compressed) {
       try {
-        return blueJsonMapper.writeValueAsString(this);
-      } catch (JsonProcessingException e) {
+        return PipelineJsonWriter.write(this, compressed);
+      } catch (IOException e) {
         logger.error("Failed to serialize blueJson run. ", e);
       }
       return null;
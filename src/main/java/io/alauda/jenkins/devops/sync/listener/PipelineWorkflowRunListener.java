@@ -12,6 +12,9 @@ import io.alauda.jenkins.devops.sync.JenkinsPipelineCause;
 import io.alauda.jenkins.devops.sync.MultiBranchProperty;
 import io.alauda.jenkins.devops.sync.PipelineConfigToJobMapper;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.monitor.BuildLifecycleMetrics;
+import io.alauda.jenkins.devops.sync.monitor.TriggerLatencyTracker;
+import io.alauda.jenkins.devops.sync.monitor.TriggerLatencyTracker.Stage;
 import io.alauda.jenkins.devops.sync.util.NamespaceName;
 import io.alauda.jenkins.devops.sync.util.PipelineUtils;
 import io.alauda.jenkins.devops.sync.util.WorkflowJobUtils;
@@ -32,6 +35,15 @@ public class PipelineWorkflowRunListener extends RunListener<WorkflowRun> {
     if (!shouldPollRun(run)) {
       return;
     }
+
+    JenkinsPipelineCause cause = PipelineUtils.findAlaudaCause(run);
+    if (cause != null) {
+      TriggerLatencyTracker.stamp(cause.getNamespace(), cause.getName(), Stage.STARTED);
+    }
+    AlaudaJobProperty property = getAlaudaJobProperty(run);
+    if (property != null) {
+      BuildLifecycleMetrics.onStarted(run, property.getNamespace(), property.getName(), cause);
+    }
     PipelineSyncExecutor.getInstance().submit(run);
 
     updateParams(run);
@@ -43,6 +55,11 @@ public class PipelineWorkflowRunListener extends RunListener<WorkflowRun> {
     if (!shouldPollRun(run)) {
       return;
     }
+    AlaudaJobProperty property = getAlaudaJobProperty(run);
+    if (property != null) {
+      BuildLifecycleMetrics.onCompleted(
+          run, property.getNamespace(), property.getName(), PipelineUtils.findAlaudaCause(run));
+    }
     PipelineSyncExecutor.getInstance().submit(run);
 
     updateParams(run);
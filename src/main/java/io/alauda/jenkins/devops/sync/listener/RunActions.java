@@ -0,0 +1,119 @@
+package io.alauda.jenkins.devops.sync.listener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.model.Action;
+import hudson.model.Cause;
+import hudson.model.CauseAction;
+import hudson.model.Run;
+import io.alauda.jenkins.devops.sync.util.PipelineGenerator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import net.sf.json.JSONArray;
+
+/**
+ * Snapshot of actions of a run. {@link Run#getAllActions()} will invoke all transient action
+ * factories, so it should be taken only once per sync and shared by all annotation builders.
+ */
+final class RunActions {
+
+  // details of causes computed in the last sync of runs, they are computed again only when the
+  // CauseActions of run changed
+  private static final Cache<Run<?, ?>, CausesDetails> causesDetailsCache =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  private final Run<?, ?> run;
+  private final List<? extends Action> actions;
+  private final Map<Class<?>, List<?>> actionsByType = new HashMap<>();
+
+  RunActions(@Nonnull Run<?, ?> run) {
+    this.run = run;
+    this.actions = run.getAllActions();
+  }
+
+  @Nonnull
+  List<? extends Action> getAll() {
+    return actions;
+  }
+
+  /** Get actions of the given type, the same as {@link Run#getActions(Class)} */
+  @SuppressWarnings("unchecked")
+  @Nonnull
+  <T> List<T> getActions(@Nonnull Class<T> type) {
+    return (List<T>)
+        actionsByType.computeIfAbsent(
+            type,
+            t -> actions.stream().filter(t::isInstance).map(t::cast).collect(Collectors.toList()));
+  }
+
+  /** Get the first action of the given type, the same as {@link Run#getAction(Class)} */
+  @CheckForNull
+  <T> T getAction(@Nonnull Class<T> type) {
+    List<T> typedActions = getActions(type);
+    return typedActions.isEmpty() ? null : typedActions.get(0);
+  }
+
+  /**
+   * Get details of all causes of run as a JSON array
+   *
+   * @return details of causes, null if the run has no more than one cause
+   */
+  @CheckForNull
+  String getCausesDetails() {
+    List<CauseAction> causeActions = getActions(CauseAction.class);
+    CausesDetails cached = causesDetailsCache.getIfPresent(run);
+    if (cached != null && cached.isUpToDate(causeActions)) {
+      return cached.json;
+    }
+
+    CausesDetails causesDetails = new CausesDetails(causeActions);
+    causesDetailsCache.put(run, causesDetails);
+    return causesDetails.json;
+  }
+
+  private static class CausesDetails {
+
+    private final List<CauseAction> causeActions;
+    // causes might be folded into an existing CauseAction
+    private final int causeCount;
+    @CheckForNull private final String json;
+
+    CausesDetails(List<CauseAction> causeActions) {
+      this.causeActions = new ArrayList<>(causeActions);
+
+      List<Cause> allCauses = new ArrayList<>();
+      causeActions.forEach(causeAction -> allCauses.addAll(causeAction.getCauses()));
+      this.causeCount = allCauses.size();
+
+      if (allCauses.size() > 1) {
+        Set<String> allCauseDetails = new HashSet<>();
+        allCauses.forEach(item -> allCauseDetails.add(PipelineGenerator.causeConvert(item)));
+        this.json = JSONArray.fromObject(allCauseDetails).toString();
+      } else {
+        this.json = null;
+      }
+    }
+
+    boolean isUpToDate(List<CauseAction> currentCauseActions) {
+      if (currentCauseActions.size() != causeActions.size()) {
+        return false;
+      }
+
+      int currentCauseCount = 0;
+      for (int i = 0; i < causeActions.size(); i++) {
+        if (currentCauseActions.get(i) != causeActions.get(i)) {
+          return false;
+        }
+        currentCauseCount += currentCauseActions.get(i).getCauses().size();
+      }
+      return currentCauseCount == causeCount;
+    }
+  }
+}
@@ -0,0 +1,138 @@
+package io.alauda.jenkins.devops.sync.listener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.cloudbees.workflow.rest.external.RunExt;
+import hudson.Extension;
+import hudson.model.Queue;
+import hudson.model.Run;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import org.jenkinsci.plugins.workflow.flow.GraphListener;
+import org.jenkinsci.plugins.workflow.graph.FlowNode;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the details and stages of runs computed in the last sync. They only need to be computed
+ * again when new nodes were added to the flow graph of run, or the run finished. Durations of
+ * running stages are not refreshed in between, they are updated with the next change of graph.
+ */
+public final class RunStagesCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(RunStagesCache.class);
+
+  private static final Cache<String, RunStages> cache =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterAccess(30, TimeUnit.MINUTES).build();
+
+  private RunStagesCache() {}
+
+  @Nonnull
+  public static RunStages get(@Nonnull Run run) {
+    try {
+      return cache.get(run.getExternalizableId(), RunStages::new);
+    } catch (ExecutionException e) {
+      // RunStages::new never throws exception
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static class RunStages {
+
+    // increased when new nodes were added to the flow graph of run
+    private final AtomicLong graphVersion = new AtomicLong(0);
+    private long syncedGraphVersion = -1;
+    private boolean syncedBuilding;
+    private RunExt runExt;
+    // stages computed from the cached RunExt
+    private String stagesJson;
+    private boolean compressed;
+
+    /**
+     * Get the details of run, they will be computed from the flow graph only if the graph changed
+     * or the run finished since they were computed last time
+     *
+     * @param run the run
+     * @return details of run
+     */
+    @Nonnull
+    public synchronized RunExt getRunExt(@Nonnull WorkflowRun run) {
+      long currentGraphVersion = graphVersion.get();
+      boolean building = run.isBuilding();
+      if (runExt == null
+          || syncedGraphVersion != currentGraphVersion
+          || syncedBuilding != building) {
+        runExt = RunExt.create(run);
+        syncedGraphVersion = currentGraphVersion;
+        syncedBuilding = building;
+        stagesJson = null;
+      }
+      return runExt;
+    }
+
+    /**
+     * Get stages computed from the given details of run
+     *
+     * @param runExt details of run got from {@link #getRunExt(WorkflowRun)}
+     * @param compressed whether the stages json should be compressed
+     * @return stages json, null if stages need to be computed again
+     */
+    @CheckForNull
+    public synchronized String getStagesJsonIfUpToDate(RunExt runExt, boolean compressed) {
+      if (this.runExt != runExt || this.compressed != compressed) {
+        return null;
+      }
+      return stagesJson;
+    }
+
+    /**
+     * Save the stages computed from the details of run
+     *
+     * @param runExt details of run which the stages are computed from
+     * @param stagesJson serialized stages
+     * @param compressed whether the stages json is compressed
+     */
+    public synchronized void update(RunExt runExt, String stagesJson, boolean compressed) {
+      // details of run have been computed again since then
+      if (this.runExt != runExt) {
+        return;
+      }
+      this.stagesJson = stagesJson;
+      this.compressed = compressed;
+    }
+
+    void onGraphChanged() {
+      graphVersion.incrementAndGet();
+    }
+  }
+
+  @Extension
+  public static class FlowGraphListener implements GraphListener {
+
+    @Override
+    public void onNewHead(FlowNode node) {
+      Queue.Executable executable;
+      try {
+        executable = node.getExecution().getOwner().getExecutable();
+      } catch (IOException e) {
+        logger.debug("Unable to find run of flow node {}, reason {}", node.getId(), e.getMessage());
+        return;
+      }
+
+      if (!(executable instanceof Run)) {
+        return;
+      }
+
+      // only runs synced before need to be marked, others will compute stages in next sync
+      RunStages runStages = cache.getIfPresent(((Run) executable).getExternalizableId());
+      if (runStages != null) {
+        runStages.onGraphChanged();
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package io.alauda.jenkins.devops.sync.listener;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import hudson.model.Run;
+import hudson.tasks.junit.CaseResult;
+import hudson.tasks.junit.TestResultAction;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Summary of test result of a run. Counts are read from the {@link TestResultAction} directly, so
+ * the test cases don't need to be loaded unless the run completed and the digest of failed tests
+ * is required.
+ *
+ * <p>Test result won't change after run completed, so the summary will be cached since then.
+ */
+final class TestResultSummary {
+
+  private static final int FAILED_TESTS_DIGEST_SIZE = 10;
+
+  private static final Cache<String, TestResultSummary> finalSummaries =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterAccess(30, TimeUnit.MINUTES).build();
+
+  private final int total;
+  private final int failed;
+  private final int skipped;
+  // names of first failed tests, null if the run is still building
+  private final List<String> failedTestsDigest;
+
+  private TestResultSummary(
+      int total, int failed, int skipped, @CheckForNull List<String> failedTestsDigest) {
+    this.total = total;
+    this.failed = failed;
+    this.skipped = skipped;
+    this.failedTestsDigest = failedTestsDigest;
+  }
+
+  @Nonnull
+  static TestResultSummary of(@Nonnull Run<?, ?> run, @Nonnull TestResultAction action) {
+    if (run.isBuilding()) {
+      return new TestResultSummary(
+          action.getTotalCount(), action.getFailCount(), action.getSkipCount(), null);
+    }
+
+    String runId = run.getExternalizableId();
+    TestResultSummary summary = finalSummaries.getIfPresent(runId);
+    if (summary == null) {
+      int failed = action.getFailCount();
+      List<String> digest =
+          failed == 0
+              ? Collections.emptyList()
+              : action
+                  .getFailedTests()
+                  .stream()
+                  .limit(FAILED_TESTS_DIGEST_SIZE)
+                  .map(CaseResult::getFullDisplayName)
+                  .collect(Collectors.toList());
+
+      summary =
+          new TestResultSummary(action.getTotalCount(), failed, action.getSkipCount(), digest);
+      finalSummaries.put(runId, summary);
+    }
+    return summary;
+  }
+
+  int getTotal() {
+    return total;
+  }
+
+  int getFailed() {
+    return failed;
+  }
+
+  int getSkipped() {
+    return skipped;
+  }
+
+  int getPassed() {
+    return Math.max(total - failed - skipped, 0);
+  }
+
+  /**
+   * Names of the first failed tests, at most {@value #FAILED_TESTS_DIGEST_SIZE} tests are included
+   *
+   * @return names of failed tests, null if the run is still building
+   */
+  @CheckForNull
+  List<String> getFailedTestsDigest() {
+    return failedTestsDigest;
+  }
+}
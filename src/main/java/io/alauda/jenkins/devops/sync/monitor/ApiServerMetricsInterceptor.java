@@ -0,0 +1,170 @@
+package io.alauda.jenkins.devops.sync.monitor;
+
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.RequestBody;
+import com.squareup.okhttp.Response;
+import io.kubernetes.client.ApiClient;
+import io.prometheus.client.Histogram;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Interceptor of {@link ApiClient} which records the metrics of requests sent to apiserver,
+ * labelled by resource and verb. All api instances created by the default constructor share the
+ * default {@link ApiClient}, so installing this interceptor on it instruments all of them.
+ *
+ * <p>Retries are counted by a network interceptor, as OkHttp retries inside the application
+ * interceptor chain. Both interceptors run on the same thread for the same call, whether it is
+ * executed synchronously or asynchronously.
+ */
+public class ApiServerMetricsInterceptor implements Interceptor {
+
+  private static final ThreadLocal<int[]> attempts = new ThreadLocal<>();
+
+  /**
+   * Install the interceptor to client, it will do nothing if the client has been instrumented
+   *
+   * @param apiClient client used to access apiserver
+   */
+  public static synchronized void install(ApiClient apiClient) {
+    if (apiClient == null) {
+      return;
+    }
+
+    OkHttpClient httpClient = apiClient.getHttpClient();
+    for (Interceptor interceptor : httpClient.interceptors()) {
+      if (interceptor instanceof ApiServerMetricsInterceptor) {
+        return;
+      }
+    }
+
+    httpClient.interceptors().add(new ApiServerMetricsInterceptor());
+    httpClient.networkInterceptors().add(new AttemptInterceptor());
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+
+    RequestInfo info = RequestInfo.parse(request);
+    RequestBody requestBody = request.body();
+    if (requestBody != null && requestBody.contentLength() > 0) {
+      Metrics.apiServerRequestBytesCounter
+          .labels(info.resource, info.verb)
+          .inc(requestBody.contentLength());
+    }
+
+    int[] previousAttempts = attempts.get();
+    int[] currentAttempts = new int[] {0};
+    attempts.set(currentAttempts);
+
+    String code = "error";
+    Histogram.Timer timer =
+        Metrics.apiServerRequestDurationHistogram.labels(info.resource, info.verb).startTimer();
+    try {
+      Response response = chain.proceed(request);
+      code = String.valueOf(response.code());
+
+      long responseLength = response.body() == null ? -1 : response.body().contentLength();
+      if (responseLength > 0) {
+        Metrics.apiServerResponseBytesCounter.labels(info.resource, info.verb).inc(responseLength);
+      }
+      return response;
+    } finally {
+      timer.observeDuration();
+      attempts.set(previousAttempts);
+
+      Metrics.apiServerRequestCounter.labels(info.resource, info.verb, code).inc();
+      if (currentAttempts[0] > 1) {
+        Metrics.apiServerRetryCounter.labels(info.resource, info.verb).inc(currentAttempts[0] - 1);
+      }
+    }
+  }
+
+  private static class AttemptInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+      int[] currentAttempts = attempts.get();
+      if (currentAttempts != null) {
+        currentAttempts[0]++;
+      }
+      return chain.proceed(chain.request());
+    }
+  }
+
+  /** Resource and verb of a request, following the conventions of Kubernetes audit logs */
+  static class RequestInfo {
+
+    private static final String UNKNOWN = "unknown";
+
+    final String resource;
+    final String verb;
+
+    private RequestInfo(String resource, String verb) {
+      this.resource = resource;
+      this.verb = verb;
+    }
+
+    static RequestInfo parse(Request request) {
+      HttpUrl url = request.httpUrl();
+      List<String> segments = url.pathSegments();
+
+      // /api/{version}/... or /apis/{group}/{version}/...
+      int start;
+      if (segments.size() > 2 && "api".equals(segments.get(0))) {
+        start = 2;
+      } else if (segments.size() > 3 && "apis".equals(segments.get(0))) {
+        start = 3;
+      } else {
+        return new RequestInfo(UNKNOWN, request.method().toLowerCase(Locale.ROOT));
+      }
+
+      List<String> parts = segments.subList(start, segments.size());
+      boolean watch = "true".equals(url.queryParameter("watch"));
+      if (!parts.isEmpty() && "watch".equals(parts.get(0))) {
+        watch = true;
+        parts = parts.subList(1, parts.size());
+      }
+      // namespaced resources, /namespaces/{namespace} itself is the namespace resource
+      if (parts.size() > 2 && "namespaces".equals(parts.get(0))) {
+        parts = parts.subList(2, parts.size());
+      }
+      if (parts.isEmpty()) {
+        return new RequestInfo(UNKNOWN, request.method().toLowerCase(Locale.ROOT));
+      }
+
+      String resource = parts.get(0);
+      if (parts.size() > 2) {
+        resource = resource + "/" + parts.get(2);
+      }
+      boolean hasName = parts.size() > 1;
+
+      String verb;
+      switch (request.method()) {
+        case "GET":
+          verb = watch ? "watch" : hasName ? "get" : "list";
+          break;
+        case "POST":
+          verb = "create";
+          break;
+        case "PUT":
+          verb = "update";
+          break;
+        case "PATCH":
+          verb = "patch";
+          break;
+        case "DELETE":
+          verb = hasName ? "delete" : "deletecollection";
+          break;
+        default:
+          verb = request.method().toLowerCase(Locale.ROOT);
+      }
+      return new RequestInfo(resource, verb);
+    }
+  }
+}
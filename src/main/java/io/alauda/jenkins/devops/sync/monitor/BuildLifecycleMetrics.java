@@ -0,0 +1,209 @@
+package io.alauda.jenkins.devops.sync.monitor;
+
+import static io.alauda.jenkins.devops.sync.constants.Constants.ALAUDA_SYNC_PLUGIN;
+import static io.alauda.jenkins.devops.sync.constants.Constants.CONDITION_STATUS_TRUE;
+import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_CONDITION_TYPE_COMPLETED;
+import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_CREATED_BY;
+
+import hudson.model.Queue;
+import hudson.model.Result;
+import io.alauda.devops.java.client.models.V1alpha1Condition;
+import io.alauda.devops.java.client.models.V1alpha1Pipeline;
+import io.alauda.jenkins.devops.sync.JenkinsPipelineCause;
+import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.util.ConditionUtils;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+
+/**
+ * Records the lifecycle of builds bound to PipelineConfigs, labelled by namespace, PipelineConfig
+ * and where the build was triggered.
+ *
+ * <p>To keep the cardinality of labels bounded, only the first {@value #MAX_NAMESPACES} namespaces
+ * and {@value #MAX_PIPELINE_CONFIGS} PipelineConfigs seen since Jenkins started get their own
+ * label values, the others are recorded as {@value #OTHER}.
+ */
+public final class BuildLifecycleMetrics {
+
+  static final String OTHER = "other";
+  private static final int MAX_NAMESPACES = 50;
+  private static final int MAX_PIPELINE_CONFIGS = 200;
+
+  private static final String TRIGGER_PLATFORM = "platform";
+  private static final String TRIGGER_JENKINS = "jenkins";
+  private static final String TRIGGER_UNKNOWN = "unknown";
+
+  private static final BoundedLabelValues namespaces = new BoundedLabelValues(MAX_NAMESPACES);
+  private static final BoundedLabelValues pipelineConfigs =
+      new BoundedLabelValues(MAX_PIPELINE_CONFIGS);
+
+  private BuildLifecycleMetrics() {}
+
+  /**
+   * Record the start of build and how long it waited in the queue
+   *
+   * @param run the started build
+   * @param namespace namespace of PipelineConfig
+   * @param pipelineConfig name of PipelineConfig
+   * @param cause cause of the Pipeline, null if the build is not bound to a Pipeline
+   */
+  public static void onStarted(
+      WorkflowRun run,
+      String namespace,
+      String pipelineConfig,
+      @CheckForNull JenkinsPipelineCause cause) {
+    Labels labels = new Labels(namespace, pipelineConfig, getTrigger(cause));
+    Metrics.buildStartedCounter
+        .labels(labels.namespace, labels.pipelineConfig, labels.trigger)
+        .inc();
+
+    // item of the build is kept in the queue for a while after it left
+    Queue.Item item = Jenkins.getInstance().getQueue().getItem(run.getQueueId());
+    if (item != null) {
+      long queuedMillis = Math.max(run.getStartTimeInMillis() - item.getInQueueSince(), 0);
+      Metrics.buildQueueHistogram
+          .labels(labels.namespace, labels.pipelineConfig, labels.trigger)
+          .observe(queuedMillis / 1000.0);
+    }
+  }
+
+  /**
+   * Record the result and duration of build
+   *
+   * @param run the completed build
+   * @param namespace namespace of PipelineConfig
+   * @param pipelineConfig name of PipelineConfig
+   * @param cause cause of the Pipeline, null if the build is not bound to a Pipeline
+   */
+  public static void onCompleted(
+      WorkflowRun run,
+      String namespace,
+      String pipelineConfig,
+      @CheckForNull JenkinsPipelineCause cause) {
+    Labels labels = new Labels(namespace, pipelineConfig, getTrigger(cause));
+    String result = getResult(run);
+    Metrics.buildCompletedCounter
+        .labels(labels.namespace, labels.pipelineConfig, labels.trigger, result)
+        .inc();
+
+    long durationMillis =
+        Math.max(run.getDuration(), System.currentTimeMillis() - run.getStartTimeInMillis());
+    Metrics.buildDurationHistogram
+        .labels(labels.namespace, labels.pipelineConfig, result)
+        .observe(durationMillis / 1000.0);
+  }
+
+  /**
+   * Record the lag from the build finished to the Completed condition of Pipeline updated, only
+   * the update which marks the Pipeline as completed will be recorded
+   *
+   * @param run the synced build
+   * @param before Pipeline before updated
+   * @param after Pipeline after updated
+   */
+  public static void onSynced(WorkflowRun run, V1alpha1Pipeline before, V1alpha1Pipeline after) {
+    if (run.isBuilding() || isCompleted(before) || !isCompleted(after)) {
+      return;
+    }
+
+    String pipelineConfig =
+        after.getSpec() == null || after.getSpec().getPipelineConfig() == null
+            ? OTHER
+            : after.getSpec().getPipelineConfig().getName();
+    Labels labels =
+        new Labels(after.getMetadata().getNamespace(), pipelineConfig, getTrigger(after));
+
+    long finishedMillis = run.getStartTimeInMillis() + run.getDuration();
+    long lagMillis = Math.max(System.currentTimeMillis() - finishedMillis, 0);
+    Metrics.buildSyncLagHistogram
+        .labels(labels.namespace, labels.pipelineConfig, labels.trigger)
+        .observe(lagMillis / 1000.0);
+  }
+
+  private static boolean isCompleted(V1alpha1Pipeline pipeline) {
+    if (pipeline.getStatus() == null) {
+      return false;
+    }
+
+    V1alpha1Condition condition =
+        ConditionUtils.getCondition(
+            pipeline.getStatus().getConditions(), PIPELINE_CONDITION_TYPE_COMPLETED);
+    return condition != null && CONDITION_STATUS_TRUE.equals(condition.getStatus());
+  }
+
+  private static String getTrigger(@CheckForNull JenkinsPipelineCause cause) {
+    if (cause == null) {
+      return TRIGGER_JENKINS;
+    }
+
+    Boolean createdByJenkins = cause.getCreatedByJenkins();
+    if (createdByJenkins != null) {
+      return createdByJenkins ? TRIGGER_JENKINS : TRIGGER_PLATFORM;
+    }
+
+    // causes of builds started before the trigger is recorded
+    V1alpha1Pipeline pipeline =
+        Clients.get(V1alpha1Pipeline.class)
+            .lister()
+            .namespace(cause.getNamespace())
+            .get(cause.getName());
+    return pipeline == null ? TRIGGER_UNKNOWN : getTrigger(pipeline);
+  }
+
+  private static String getTrigger(V1alpha1Pipeline pipeline) {
+    Map<String, String> labels = pipeline.getMetadata().getLabels();
+    return labels != null && ALAUDA_SYNC_PLUGIN.equals(labels.get(PIPELINE_CREATED_BY))
+        ? TRIGGER_JENKINS
+        : TRIGGER_PLATFORM;
+  }
+
+  private static String getResult(WorkflowRun run) {
+    Result result = run.getResult();
+    return result == null ? "unknown" : result.toString().toLowerCase(Locale.ROOT);
+  }
+
+  private static class Labels {
+
+    private final String namespace;
+    private final String pipelineConfig;
+    private final String trigger;
+
+    Labels(String namespace, String pipelineConfig, String trigger) {
+      this.namespace = namespaces.get(namespace);
+      // PipelineConfigs are bounded by namespace and name, but only the name is used as value
+      this.pipelineConfig =
+          OTHER.equals(this.namespace)
+                  || OTHER.equals(pipelineConfigs.get(namespace + "/" + pipelineConfig))
+              ? OTHER
+              : pipelineConfig;
+      this.trigger = trigger;
+    }
+  }
+
+  /** Values of a label, values beyond the limit will be replaced by {@code "other"} */
+  static class BoundedLabelValues {
+
+    private final int limit;
+    private final Set<String> values = new HashSet<>();
+
+    BoundedLabelValues(int limit) {
+      this.limit = limit;
+    }
+
+    synchronized String get(String value) {
+      if (value == null) {
+        return OTHER;
+      }
+
+      if (values.contains(value) || (values.size() < limit && values.add(value))) {
+        return value;
+      }
+      return OTHER;
+    }
+  }
+}
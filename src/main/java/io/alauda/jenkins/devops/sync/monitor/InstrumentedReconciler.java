@@ -0,0 +1,51 @@
+package io.alauda.jenkins.devops.sync.monitor;
+
+import io.kubernetes.client.extended.controller.reconciler.Reconciler;
+import io.kubernetes.client.extended.controller.reconciler.Request;
+import io.kubernetes.client.extended.controller.reconciler.Result;
+import io.kubernetes.client.extended.workqueue.WorkQueue;
+import io.prometheus.client.Histogram;
+
+/**
+ * Decorator of {@link Reconciler} which records the metrics of reconciles, including the duration
+ * of reconciles, and the count of requeues and errors.
+ */
+public class InstrumentedReconciler implements Reconciler {
+
+  private final String controllerName;
+  private final WorkQueue<Request> queue;
+  private final Reconciler delegate;
+
+  /**
+   * @param controllerName name of controller, used as the label of metrics
+   * @param queue workqueue of controller
+   * @param delegate reconciler to be instrumented
+   */
+  public InstrumentedReconciler(
+      String controllerName, WorkQueue<Request> queue, Reconciler delegate) {
+    this.controllerName = controllerName;
+    this.queue = queue;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Result reconcile(Request request) {
+    Metrics.completedRequestCounter.labels(controllerName).inc();
+    Metrics.remainedRequestsGauge.labels(controllerName).set(queue.length());
+
+    Histogram.Timer timer = Metrics.reconcileDurationHistogram.labels(controllerName).startTimer();
+    try {
+      Result result = delegate.reconcile(request);
+      if (result != null && result.isRequeue()) {
+        String reason = result.getRequeueAfter() != null ? "requeue_after" : "rate_limited";
+        Metrics.requeueCounter.labels(controllerName, reason).inc();
+      }
+      return result;
+    } catch (RuntimeException e) {
+      Metrics.reconcileErrorCounter.labels(controllerName, e.getClass().getSimpleName()).inc();
+      throw e;
+    } finally {
+      timer.observeDuration();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package io.alauda.jenkins.devops.sync.monitor;
+
+import io.kubernetes.client.extended.workqueue.RateLimitingQueue;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator of {@link RateLimitingQueue} which records how long items wait in the queue before they
+ * are taken by workers.
+ *
+ * <p>The wait of items added with a delay starts after the delay, while the wait of items added
+ * with {@link #addRateLimited(Object)} includes the back-off of the rate limiter, as the back-off
+ * is decided inside the queue.
+ */
+public class InstrumentedWorkQueue<T> implements RateLimitingQueue<T> {
+
+  private final String controllerName;
+  private final RateLimitingQueue<T> delegate;
+  // item -> nano time when the item is ready to be processed
+  private final Map<T, Long> readyTimes = new ConcurrentHashMap<>();
+
+  /**
+   * @param controllerName name of controller, used as the label of metrics
+   * @param delegate queue to be instrumented
+   */
+  public InstrumentedWorkQueue(String controllerName, RateLimitingQueue<T> delegate) {
+    this.controllerName = controllerName;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void add(T item) {
+    readyTimes.putIfAbsent(item, System.nanoTime());
+    delegate.add(item);
+  }
+
+  @Override
+  public void addAfter(T item, Duration duration) {
+    readyTimes.putIfAbsent(item, System.nanoTime() + duration.toNanos());
+    delegate.addAfter(item, duration);
+  }
+
+  @Override
+  public void addRateLimited(T item) {
+    readyTimes.putIfAbsent(item, System.nanoTime());
+    delegate.addRateLimited(item);
+  }
+
+  @Override
+  public T get() throws InterruptedException {
+    T item = delegate.get();
+    if (item != null) {
+      Long readyTime = readyTimes.remove(item);
+      if (readyTime != null) {
+        long waitNanos = Math.max(System.nanoTime() - readyTime, 0);
+        Metrics.queueWaitHistogram.labels(controllerName).observe(waitNanos / 1e9);
+      }
+    }
+    return item;
+  }
+
+  @Override
+  public void done(T item) {
+    delegate.done(item);
+  }
+
+  @Override
+  public void forget(T item) {
+    delegate.forget(item);
+  }
+
+  @Override
+  public int numRequeues(T item) {
+    return delegate.numRequeues(item);
+  }
+
+  @Override
+  public int length() {
+    return delegate.length();
+  }
+
+  @Override
+  public void shutDown() {
+    readyTimes.clear();
+    delegate.shutDown();
+  }
+
+  @Override
+  public boolean isShuttingDown() {
+    return delegate.isShuttingDown();
+  }
+}
@@ -2,6 +2,7 @@ package io.alauda.jenkins.devops.sync.monitor;
 
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
 import org.jenkinsci.plugins.prometheus.util.ConfigurationUtils;
 
 public class Metrics {
@@ -13,14 +14,63 @@ public class Metrics {
 
   public static final Gauge remainedRequestsGauge;
 
+  public static final Histogram reconcileDurationHistogram;
+
+  public static final Histogram queueWaitHistogram;
+
+  public static final Counter requeueCounter;
+
+  public static final Counter reconcileErrorCounter;
+
   public static final Gauge syncManagerUpGauge;
 
+  public static final Histogram apiServerRequestDurationHistogram;
+
+  public static final Counter apiServerRequestCounter;
+
+  public static final Counter apiServerRetryCounter;
+
+  public static final Counter apiServerRequestBytesCounter;
+
+  public static final Counter apiServerResponseBytesCounter;
+
+  public static final Histogram triggerLatencyHistogram;
+
+  public static final Gauge actionMapperSizeGauge;
+
+  public static final Counter actionMapperEvictionCounter;
+
+  public static final Counter actionMapperLookupCounter;
+
+  public static final Gauge queueLeftPendingDeletesGauge;
+
+  public static final Counter queueLeftDeleteCounter;
+
+  public static final Counter buildStartedCounter;
+
+  public static final Counter buildCompletedCounter;
+
+  public static final Histogram buildQueueHistogram;
+
+  public static final Histogram buildDurationHistogram;
+
+  public static final Histogram buildSyncLagHistogram;
+
+  public static final Gauge nodesGauge;
+
+  public static final Gauge nodeLabelsGauge;
+
   static {
     String subsystem = "jenkins";
     String namespace = ConfigurationUtils.getNamespace();
 
     String[] controllerLabelNames = new String[] {"controller_name"};
     String[] controllerActionLabelNames = new String[] {"controller_name", "action"};
+    String[] controllerReasonLabelNames = new String[] {"controller_name", "reason"};
+    String[] stateLabelNames = new String[] {"state"};
+    String[] apiServerLabelNames = new String[] {"resource", "verb"};
+    String[] apiServerCodeLabelNames = new String[] {"resource", "verb", "code"};
+    String[] buildLabelNames = new String[] {"namespace", "pipeline_config", "trigger"};
 
     completedRequestCounter =
         Counter.build()
@@ -49,6 +99,43 @@ public class Metrics {
             .help("Number of remained requests in workqueue")
             .register();
 
+    reconcileDurationHistogram =
+        Histogram.build()
+            .name("sync_controller_reconcile_duration_seconds")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(controllerLabelNames)
+            .help("Time taken by reconciling a request")
+            .register();
+
+    queueWaitHistogram =
+        Histogram.build()
+            .name("sync_controller_queue_wait_seconds")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(controllerLabelNames)
+            .buckets(0.005, 0.01, 0.05, 0.1, 0.5, 1, 5, 10, 30, 60, 300)
+            .help("Time a request waited in workqueue before it was reconciled")
+            .register();
+
+    requeueCounter =
+        Counter.build()
+            .name("sync_controller_requeue_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(controllerReasonLabelNames)
+            .help("Requeued request count")
+            .register();
+
+    reconcileErrorCounter =
+        Counter.build()
+            .name("sync_controller_reconcile_error_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(controllerReasonLabelNames)
+            .help("Count of reconciles failed with exception")
+            .register();
+
     syncManagerUpGauge =
         Gauge.build()
             .name("sync_plugin_up")
@@ -56,5 +143,170 @@ public class Metrics {
             .subsystem(subsystem)
             .help("If the sync plugin ready")
             .register();
+
+    apiServerRequestDurationHistogram =
+        Histogram.build()
+            .name("sync_apiserver_request_duration_seconds")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(apiServerLabelNames)
+            .help("Time taken by requests sent to apiserver, watch requests end when connected")
+            .register();
+
+    apiServerRequestCounter =
+        Counter.build()
+            .name("sync_apiserver_request_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(apiServerCodeLabelNames)
+            .help("Count of requests sent to apiserver, code is error if no response received")
+            .register();
+
+    apiServerRetryCounter =
+        Counter.build()
+            .name("sync_apiserver_request_retry_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(apiServerLabelNames)
+            .help("Count of requests retried by http client")
+            .register();
+
+    apiServerRequestBytesCounter =
+        Counter.build()
+            .name("sync_apiserver_request_bytes")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(apiServerLabelNames)
+            .help("Size of request bodies sent to apiserver")
+            .register();
+
+    apiServerResponseBytesCounter =
+        Counter.build()
+            .name("sync_apiserver_response_bytes")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(apiServerLabelNames)
+            .help("Size of response bodies received from apiserver, chunked responses are excluded")
+            .register();
+
+    triggerLatencyHistogram =
+        Histogram.build()
+            .name("sync_pipeline_trigger_latency_seconds")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames("stage")
+            .buckets(0.1, 0.5, 1, 2, 5, 10, 30, 60, 120, 300, 600)
+            .help("Time from the creation of Pipeline to each stage of triggering its build")
+            .register();
+
+    actionMapperSizeGauge =
+        Gauge.build()
+            .name("sync_action_mapper_entries")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames("action")
+            .help("Number of actions waiting to be handed over to builds triggered by Pipelines")
+            .register();
+
+    actionMapperEvictionCounter =
+        Counter.build()
+            .name("sync_action_mapper_eviction_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames("action", "reason")
+            .help("Count of actions evicted before handed over, reason is expired or size")
+            .register();
+
+    actionMapperLookupCounter =
+        Counter.build()
+            .name("sync_action_mapper_lookup_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames("action", "result")
+            .help("Count of lookups of actions when triggering builds, result is hit or miss")
+            .register();
+
+    queueLeftPendingDeletesGauge =
+        Gauge.build()
+            .name("sync_queue_left_pending_deletes")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .help("Number of Pipelines waiting to be deleted as their queue items were cancelled")
+            .register();
+
+    queueLeftDeleteCounter =
+        Counter.build()
+            .name("sync_queue_left_delete_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames("result")
+            .help("Count of Pipelines deleted as their queue items were cancelled")
+            .register();
+
+    buildStartedCounter =
+        Counter.build()
+            .name("sync_build_started_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(buildLabelNames)
+            .help("Count of started builds bound to PipelineConfigs")
+            .register();
+
+    buildCompletedCounter =
+        Counter.build()
+            .name("sync_build_completed_count")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames("namespace", "pipeline_config", "trigger", "result")
+            .help("Count of completed builds bound to PipelineConfigs")
+            .register();
+
+    buildQueueHistogram =
+        Histogram.build()
+            .name("sync_build_queue_seconds")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(buildLabelNames)
+            .buckets(0.1, 0.5, 1, 5, 10, 30, 60, 120, 300, 600, 1800)
+            .help("Time builds waited in the queue before started")
+            .register();
+
+    buildDurationHistogram =
+        Histogram.build()
+            .name("sync_build_duration_seconds")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames("namespace", "pipeline_config", "result")
+            .buckets(1, 10, 30, 60, 120, 300, 600, 1200, 1800, 3600, 7200)
+            .help("Duration of completed builds")
+            .register();
+
+    buildSyncLagHistogram =
+        Histogram.build()
+            .name("sync_build_sync_lag_seconds")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(buildLabelNames)
+            .buckets(0.1, 0.5, 1, 2, 5, 10, 30, 60, 120, 300)
+            .help("Time from builds finished to their Pipelines marked as completed")
+            .register();
+
+    nodesGauge =
+        Gauge.build()
+            .name("sync_nodes")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(stateLabelNames)
+            .help("Number of Jenkins nodes, a node is unavailable if it has no executor")
+            .register();
+
+    nodeLabelsGauge =
+        Gauge.build()
+            .name("sync_node_labels")
+            .namespace(namespace)
+            .subsystem(subsystem)
+            .labelNames(stateLabelNames)
+            .help("Number of distinct labels of Jenkins nodes")
+            .register();
   }
 }
@@ -0,0 +1,132 @@
+package io.alauda.jenkins.devops.sync.monitor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.alauda.devops.java.client.models.V1alpha1Pipeline;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.CheckForNull;
+import net.sf.json.JSONObject;
+import org.joda.time.DateTime;
+
+/**
+ * Tracks the latency from a Pipeline created in the platform to its Jenkins build started. Each
+ * stage of the trigger path is stamped once, and the time since the creation of Pipeline will be
+ * recorded when the status of the build is synced to Pipeline for the first time.
+ *
+ * <p>Only Pipelines triggered by {@code PipelineController} are tracked.
+ */
+public final class TriggerLatencyTracker {
+
+  public enum Stage {
+    /** Reconciler picked up the Pipeline and is going to trigger a build */
+    RECONCILED,
+    /** scheduleBuild2 returned */
+    SCHEDULED,
+    /** Queue item of the build left the queue */
+    LEFT_QUEUE,
+    /** Build started */
+    STARTED,
+    /** Status of the build was synced to Pipeline */
+    FIRST_SYNCED;
+
+    String label() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private static final Cache<String, Timeline> timelines =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(1, TimeUnit.HOURS).build();
+
+  private TriggerLatencyTracker() {}
+
+  /**
+   * Start tracking the Pipeline, the timeline will be kept if the Pipeline is reconciled again
+   *
+   * @param pipeline Pipeline that is going to be triggered
+   */
+  public static void onReconciled(V1alpha1Pipeline pipeline) {
+    DateTime creationTimestamp = pipeline.getMetadata().getCreationTimestamp();
+    if (creationTimestamp == null) {
+      return;
+    }
+
+    String namespace = pipeline.getMetadata().getNamespace();
+    String name = pipeline.getMetadata().getName();
+    String key = key(namespace, name);
+    if (timelines.getIfPresent(key) == null) {
+      timelines.put(key, new Timeline(creationTimestamp.getMillis()));
+    }
+    stamp(namespace, name, Stage.RECONCILED);
+  }
+
+  public static void stamp(String namespace, String name, Stage stage) {
+    stamp(namespace, name, stage, System.currentTimeMillis());
+  }
+
+  public static void stamp(String namespace, String name, Stage stage, long timeMillis) {
+    Timeline timeline = timelines.getIfPresent(key(namespace, name));
+    if (timeline != null) {
+      timeline.stamp(stage, timeMillis);
+    }
+  }
+
+  /**
+   * Get the stages of trigger path in json, values are milliseconds since the creation of Pipeline
+   *
+   * @return json of stages, null if the Pipeline is not tracked
+   */
+  @CheckForNull
+  public static String toJson(String namespace, String name) {
+    Timeline timeline = timelines.getIfPresent(key(namespace, name));
+    if (timeline == null) {
+      return null;
+    }
+
+    JSONObject json = new JSONObject();
+    timeline.getElapsedMillis().forEach((stage, elapsed) -> json.put(stage.label(), elapsed));
+    return json.toString();
+  }
+
+  /** Record the latency of all stages and stop tracking the Pipeline */
+  public static void complete(String namespace, String name) {
+    String key = key(namespace, name);
+    Timeline timeline = timelines.getIfPresent(key);
+    if (timeline == null) {
+      return;
+    }
+    timelines.invalidate(key);
+
+    timeline
+        .getElapsedMillis()
+        .forEach(
+            (stage, elapsed) ->
+                Metrics.triggerLatencyHistogram.labels(stage.label()).observe(elapsed / 1000.0));
+  }
+
+  private static String key(String namespace, String name) {
+    return namespace + "/" + name;
+  }
+
+  private static class Timeline {
+
+    private final long createdMillis;
+    private final Map<Stage, Long> stamps = new EnumMap<>(Stage.class);
+
+    Timeline(long createdMillis) {
+      this.createdMillis = createdMillis;
+    }
+
+    synchronized void stamp(Stage stage, long timeMillis) {
+      stamps.putIfAbsent(stage, timeMillis);
+    }
+
+    synchronized Map<Stage, Long> getElapsedMillis() {
+      Map<Stage, Long> elapsed = new EnumMap<>(Stage.class);
+      stamps.forEach((stage, time) -> elapsed.put(stage, Math.max(time - createdMillis, 0)));
+      return elapsed;
+    }
+  }
+}
@@ -35,7 +35,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import jenkins.branch.BranchProjectFactory;
 import jenkins.branch.MultiBranchProject;
@@ -312,7 +311,7 @@ public abstract class JenkinsUtils {
     // plugins may rely on them.
     List<Cause> newCauses = new ArrayList<>();
     newCauses.add(new JenkinsPipelineCause(pipeline, pcProp.getUid()));
-    CauseAction originalCauseAction = PipelineToActionMapper.removeCauseAction(pipelineName);
+    CauseAction originalCauseAction = PipelineToActionMapper.removeCauseAction(pipMeta.getUid());
     if (originalCauseAction != null) {
       if (logger.isDebugEnabled()) {
         logger.debug("Adding existing causes...");
@@ -331,7 +330,7 @@ public abstract class JenkinsUtils {
     List<Action> pipelineActions = new ArrayList<>();
     CauseAction bCauseAction = new CauseAction(newCauses);
     pipelineActions.add(bCauseAction);
-    pipelineActions.add(new AlaudaQueueAction(namespace, pipelineName));
+    pipelineActions.add(new AlaudaQueueAction(namespace, pipelineName, pipMeta.getUid()));
 
     V1alpha1PipelineSourceGit sourceGit = pipeline.getSpec().getSource().getGit();
     String commit = null;
@@ -353,7 +352,7 @@ public abstract class JenkinsUtils {
     }
 
     // params added by user in jenkins ui
-    PipelineToActionMapper.removeParameterAction(pipelineName);
+    PipelineToActionMapper.removeParameterAction(pipMeta.getUid());
     addJobRunParamsFromEnvAndUIParams(pipeline.getSpec().getParameters(), pipelineActions);
 
     Action[] actionArray;
@@ -392,16 +391,6 @@ public abstract class JenkinsUtils {
         factory.setRevisionHash(job, revisionAction.getRevision());
       }
     }
-
-    // If builds are queued too quickly, Jenkins can add the cause
-    // to the previous queued pipeline so let's add a tiny
-    // sleep.
-    try {
-      TimeUnit.MILLISECONDS.sleep(50);
-    } catch (InterruptedException e) {
-      logger.error("updatePipelinePhase Interrupted: {}", e.getMessage());
-      Thread.currentThread().interrupt();
-    }
   }
 
   public static boolean hasBuildRunningOrCompleted(WorkflowJob job, V1alpha1Pipeline pipeline) {
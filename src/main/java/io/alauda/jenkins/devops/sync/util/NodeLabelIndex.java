@@ -0,0 +1,127 @@
+package io.alauda.jenkins.devops.sync.util;
+
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.labels.LabelAtom;
+import io.alauda.jenkins.devops.sync.monitor.Metrics;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+
+/**
+ * Index of labels of Jenkins nodes, it is updated by node events so that we don't need to parse
+ * labels of all nodes when we want to know which labels are unavailable.
+ *
+ * <p>A label is unavailable if any node that has no executor has it.
+ */
+public final class NodeLabelIndex {
+
+  private static final NodeLabelIndex INSTANCE = new NodeLabelIndex();
+
+  // node name -> labels of the node
+  private final Map<String, Set<String>> nodeLabels = new HashMap<>();
+  // node name -> whether the node has executors
+  private final Map<String, Boolean> nodeAvailable = new HashMap<>();
+  // label -> count of nodes have this label
+  private final Map<String, Integer> availableLabelCounts = new HashMap<>();
+  private final Map<String, Integer> unavailableLabelCounts = new HashMap<>();
+  private boolean initialized = false;
+
+  private NodeLabelIndex() {}
+
+  public static NodeLabelIndex get() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get labels of nodes that have no executor
+   *
+   * @return snapshot of unavailable labels
+   */
+  @Nonnull
+  public synchronized Set<String> getUnavailableLabels() {
+    initializeIfNeeded();
+    return Collections.unmodifiableSet(new HashSet<>(unavailableLabelCounts.keySet()));
+  }
+
+  public synchronized void onNodeAdded(@Nonnull Node node) {
+    if (!initialized) {
+      return;
+    }
+    removeNode(node.getNodeName());
+    addNode(node);
+    updateMetrics();
+  }
+
+  public synchronized void onNodeRemoved(@Nonnull Node node) {
+    if (!initialized) {
+      return;
+    }
+    removeNode(node.getNodeName());
+    updateMetrics();
+  }
+
+  /** Rebuild the whole index, it should be called when the configuration of Jenkins changed */
+  public synchronized void rebuild() {
+    nodeLabels.clear();
+    nodeAvailable.clear();
+    availableLabelCounts.clear();
+    unavailableLabelCounts.clear();
+
+    Jenkins jenkins = Jenkins.getInstance();
+    List<Node> nodes = jenkins.getNodes();
+    nodes.forEach(this::addNode);
+    // Jenkins.getInstance().getNodes() will return all nodes except Jenkins itself
+    addNode(jenkins);
+
+    initialized = true;
+    updateMetrics();
+  }
+
+  private void initializeIfNeeded() {
+    if (!initialized) {
+      rebuild();
+    }
+  }
+
+  private void addNode(Node node) {
+    String nodeName = node.getNodeName();
+    boolean available = node.getNumExecutors() > 0;
+
+    Set<String> labels = new HashSet<>();
+    for (LabelAtom atom : Label.parse(node.getLabelString())) {
+      labels.add(atom.getName());
+    }
+
+    nodeLabels.put(nodeName, labels);
+    nodeAvailable.put(nodeName, available);
+
+    Map<String, Integer> labelCounts = available ? availableLabelCounts : unavailableLabelCounts;
+    labels.forEach(label -> labelCounts.merge(label, 1, Integer::sum));
+  }
+
+  private void removeNode(String nodeName) {
+    Set<String> labels = nodeLabels.remove(nodeName);
+    Boolean available = nodeAvailable.remove(nodeName);
+    if (labels == null || available == null) {
+      return;
+    }
+
+    Map<String, Integer> labelCounts = available ? availableLabelCounts : unavailableLabelCounts;
+    labels.forEach(
+        label -> labelCounts.computeIfPresent(label, (k, count) -> count > 1 ? count - 1 : null));
+  }
+
+  private void updateMetrics() {
+    long availableNodes = nodeAvailable.values().stream().filter(available -> available).count();
+    Metrics.nodesGauge.labels("available").set(availableNodes);
+    Metrics.nodesGauge.labels("unavailable").set(nodeAvailable.size() - availableNodes);
+    Metrics.nodeLabelsGauge.labels("available").set(availableLabelCounts.size());
+    Metrics.nodeLabelsGauge.labels("unavailable").set(unavailableLabelCounts.size());
+  }
+}
@@ -4,8 +4,6 @@ import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINECONFIG_K
 import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINECONFIG_KIND_MULTI_BRANCH;
 import static io.alauda.jenkins.devops.sync.constants.Constants.PIPELINE_CONFIG_LABEL_TEMPLATE;
 
-import hudson.Plugin;
-import hudson.util.VersionNumber;
 import io.alauda.devops.java.client.models.*;
 import io.alauda.jenkins.devops.sync.constants.Constants;
 import io.alauda.jenkins.devops.sync.constants.ErrorMessages;
@@ -13,7 +11,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
-import jenkins.model.Jenkins;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -61,37 +58,14 @@ public abstract class PipelineConfigUtils {
       return;
     }
 
-    final Jenkins jenkins = Jenkins.getInstance();
-    dependencies
-        .getPlugins()
+    PluginInventory.get()
+        .checkDependencies(dependencies)
         .forEach(
-            plugin -> {
-              String name = plugin.getName();
-              String version = plugin.getVersion();
-              VersionNumber verNumber = new VersionNumber(version);
-              VersionNumber currentNumber;
-
+            message -> {
               V1alpha1Condition condition = new V1alpha1Condition();
               condition.setReason(ErrorMessages.PLUGIN_ERROR);
-
-              Plugin existsPlugin = jenkins.getPlugin(name);
-              if (existsPlugin == null) {
-
-                condition.setMessage(String.format("Lack plugin: %s, version: %s", name, version));
-              } else {
-                currentNumber = existsPlugin.getWrapper().getVersionNumber();
-
-                if (currentNumber.isOlderThan(verNumber)) {
-                  condition.setMessage(
-                      String.format(
-                          "Require plugin: %s, version: %s, found %s",
-                          name, version, currentNumber));
-                }
-              }
-
-              if (condition.getMessage() != null) {
-                conditions.add(condition);
-              }
+              condition.setMessage(message);
+              conditions.add(condition);
             });
   }
 
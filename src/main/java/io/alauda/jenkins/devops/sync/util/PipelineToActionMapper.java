@@ -15,34 +15,104 @@
  */
 package io.alauda.jenkins.devops.sync.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
 import hudson.model.CauseAction;
 import hudson.model.ParametersAction;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import io.alauda.jenkins.devops.sync.monitor.Metrics;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.CheckForNull;
 
+/**
+ * Hands the actions of a build triggered in Jenkins over to the build triggered by the Pipeline
+ * created for it. Actions are stored by {@code PipelineDecisionHandler} and removed by {@link
+ * JenkinsUtils#triggerJob}, keyed by the uid of the Pipeline.
+ *
+ * <p>Entries of Pipelines that are never triggered will be evicted after {@value
+ * #EXPIRE_MINUTES} minutes, and at most {@value #MAX_SIZE} entries are kept for each kind of
+ * action.
+ */
 public class PipelineToActionMapper {
 
-  private static Map<String, ParametersAction> buildToParametersMap;
-  private static Map<String, CauseAction> buildToCauseMap;
+  private static final int MAX_SIZE = 1000;
+  private static final int EXPIRE_MINUTES = 30;
+
+  private static final String PARAMETERS = "parameters";
+  private static final String CAUSE = "cause";
+
+  private static final Cache<String, ParametersAction> buildToParametersMap = newStore(PARAMETERS);
+  private static final Cache<String, CauseAction> buildToCauseMap = newStore(CAUSE);
+
+  private PipelineToActionMapper() {}
+
+  private static <V> Cache<String, V> newStore(String actionType) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(MAX_SIZE)
+        .expireAfterWrite(EXPIRE_MINUTES, TimeUnit.MINUTES)
+        .<String, V>removalListener(
+            notification -> {
+              RemovalCause cause = notification.getCause();
+              if (cause == RemovalCause.EXPIRED || cause == RemovalCause.SIZE) {
+                Metrics.actionMapperEvictionCounter
+                    .labels(actionType, cause.name().toLowerCase(Locale.ROOT))
+                    .inc();
+              }
+            })
+        .build();
+  }
 
-  static {
-    buildToParametersMap = new ConcurrentHashMap<>();
-    buildToCauseMap = new ConcurrentHashMap<>();
+  public static void addParameterAction(String pipelineUid, ParametersAction params) {
+    buildToParametersMap.put(pipelineUid, params);
+    updateSize(PARAMETERS, buildToParametersMap);
   }
 
-  public static synchronized void addParameterAction(String pipelineId, ParametersAction params) {
-    buildToParametersMap.put(pipelineId, params);
+  @CheckForNull
+  static ParametersAction removeParameterAction(String pipelineUid) {
+    return remove(PARAMETERS, buildToParametersMap, pipelineUid);
   }
 
-  static synchronized ParametersAction removeParameterAction(String pipelineId) {
-    return buildToParametersMap.remove(pipelineId);
+  public static void addCauseAction(String pipelineUid, CauseAction cause) {
+    buildToCauseMap.put(pipelineUid, cause);
+    updateSize(CAUSE, buildToCauseMap);
   }
 
-  public static synchronized void addCauseAction(String pipelineId, CauseAction cause) {
-    buildToCauseMap.put(pipelineId, cause);
+  @CheckForNull
+  static CauseAction removeCauseAction(String pipelineUid) {
+    return remove(CAUSE, buildToCauseMap, pipelineUid);
+  }
+
+  /**
+   * Drop the actions of a Pipeline which will never be triggered, e.g. its queue item was cancelled
+   * before the Pipeline was bound to it
+   */
+  public static void removeActions(String pipelineUid) {
+    if (pipelineUid == null) {
+      return;
+    }
+
+    buildToParametersMap.invalidate(pipelineUid);
+    buildToCauseMap.invalidate(pipelineUid);
+    updateSize(PARAMETERS, buildToParametersMap);
+    updateSize(CAUSE, buildToCauseMap);
+  }
+
+  @CheckForNull
+  private static <V> V remove(String actionType, Cache<String, V> store, String pipelineUid) {
+    if (pipelineUid == null) {
+      return null;
+    }
+
+    V action = store.asMap().remove(pipelineUid);
+    Metrics.actionMapperLookupCounter.labels(actionType, action == null ? "miss" : "hit").inc();
+    // let expired entries be evicted and counted even if no more actions are added
+    store.cleanUp();
+    updateSize(actionType, store);
+    return action;
   }
 
-  static synchronized CauseAction removeCauseAction(String pipelineId) {
-    return buildToCauseMap.remove(pipelineId);
+  private static void updateSize(String actionType, Cache<String, ?> store) {
+    Metrics.actionMapperSizeGauge.labels(actionType).set(store.size());
   }
 }
@@ -1,5 +1,7 @@
 package io.alauda.jenkins.devops.sync.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import hudson.model.*;
 import io.alauda.devops.java.client.models.V1alpha1Pipeline;
 import io.alauda.jenkins.devops.sync.JenkinsPipelineCause;
@@ -7,12 +9,18 @@ import io.alauda.jenkins.devops.sync.client.Clients;
 import io.kubernetes.client.models.V1Status;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.TreeSet;
 import java.util.logging.Logger;
+import javax.annotation.CheckForNull;
 
 public class PipelineUtils {
   private static final Logger logger = Logger.getLogger(PipelineUtils.class.getName());
 
+  // run -> JenkinsPipelineCause of the run, runs are compared by identity
+  private static final Cache<Run<?, ?>, Optional<JenkinsPipelineCause>> runCauses =
+      CacheBuilder.newBuilder().weakKeys().maximumSize(1000).build();
+
   /**
    * Find all AlaudaPipelineCauses from the Actionable object
    *
@@ -66,9 +74,54 @@ public class PipelineUtils {
    * @return JenkinsPipelineCause which will be null if cannot find it
    */
   public static JenkinsPipelineCause findAlaudaCause(Actionable actionable) {
-    TreeSet<JenkinsPipelineCause> pipelineCauses = findAllAlaudaCauses(actionable);
+    if (!(actionable instanceof Run)) {
+      return findFirstAlaudaCause(actionable);
+    }
 
-    return pipelineCauses.isEmpty() ? null : pipelineCauses.first();
+    // causes of a run won't change, the same run instance will always get the same cause
+    Run<?, ?> run = (Run<?, ?>) actionable;
+    Optional<JenkinsPipelineCause> cause = runCauses.getIfPresent(run);
+    if (cause == null) {
+      cause = Optional.ofNullable(findFirstAlaudaCause(run));
+      // actions of queue item are added to the run after it is created
+      if (cause.isPresent() || !run.isBuilding()) {
+        runCauses.put(run, cause);
+      }
+    }
+    return cause.orElse(null);
+  }
+
+  /**
+   * Find the JenkinsPipelineCause in a single pass of actions, it is the same as the first cause of
+   * {@link #findAllAlaudaCauses(Actionable)}
+   */
+  @CheckForNull
+  private static JenkinsPipelineCause findFirstAlaudaCause(Actionable actionable) {
+    if (actionable == null) {
+      return null;
+    }
+
+    JenkinsPipelineCause first = null;
+    for (Action action : actionable.getAllActions()) {
+      if (!(action instanceof CauseAction)) {
+        continue;
+      }
+
+      for (Cause cause : ((CauseAction) action).getCauses()) {
+        if (!(cause instanceof JenkinsPipelineCause)) {
+          continue;
+        }
+
+        JenkinsPipelineCause pipelineCause = (JenkinsPipelineCause) cause;
+        if (first == null
+            || first.getName() == null
+            || (pipelineCause.getName() != null
+                && pipelineCause.getName().compareTo(first.getName()) < 0)) {
+          first = pipelineCause;
+        }
+      }
+    }
+    return first;
   }
 
   public static V1Status delete(String namespace, String name) {
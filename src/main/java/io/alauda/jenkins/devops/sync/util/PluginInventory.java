@@ -0,0 +1,215 @@
+package io.alauda.jenkins.devops.sync.util;
+
+import hudson.PluginManager;
+import hudson.PluginWrapper;
+import hudson.model.UpdateSite;
+import hudson.util.VersionNumber;
+import io.alauda.devops.java.client.models.V1alpha1PipelineDependency;
+import io.alauda.jenkins.devops.sync.constants.Constants;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import jenkins.model.Jenkins;
+
+/**
+ * Immutable snapshot of plugins installed in Jenkins, it is shared by controllers which need to
+ * know the plugins status.
+ *
+ * <p>The snapshot will be rebuilt only when plugins are loaded dynamically, failed to load, or the
+ * update sites refreshed their data. Uninstalling or upgrading plugins requires a restart of
+ * Jenkins, which drops the snapshot as well.
+ */
+public final class PluginInventory {
+
+  private static final int DEPENDENCY_CHECK_CACHE_SIZE = 256;
+
+  private static volatile PluginInventory current;
+
+  private final String fingerprint;
+  // short name -> version of active plugins
+  private final Map<String, VersionNumber> activePluginVersions;
+  private final List<PluginStatus> pluginStatuses;
+  // results of dependency check, key is the required plugins and versions of template
+  private final Map<String, List<String>> dependencyCheckResults = new ConcurrentHashMap<>();
+
+  private PluginInventory(Jenkins jenkins, String fingerprint) {
+    this.fingerprint = fingerprint;
+
+    PluginManager pluginManager = jenkins.getPluginManager();
+    Map<String, VersionNumber> versions = new HashMap<>();
+    List<PluginStatus> statuses = new LinkedList<>();
+
+    // add failed plugins' status to condition
+    pluginManager
+        .getFailedPlugins()
+        .forEach(
+            failedPlugin -> {
+              statuses.add(
+                  new PluginStatus(
+                      failedPlugin.name,
+                      null,
+                      failedPlugin.cause.getMessage(),
+                      Constants.JENKINS_PLUGIN_STATUS_FAILED,
+                      false));
+            });
+
+    for (PluginWrapper plugin : pluginManager.getPlugins()) {
+      if (plugin.isActive()) {
+        versions.put(plugin.getShortName(), plugin.getVersionNumber());
+      }
+
+      UpdateSite.Plugin pluginInfo = plugin.getInfo();
+      statuses.add(
+          new PluginStatus(
+              plugin.getLongName(),
+              plugin.getVersion(),
+              pluginInfo != null ? pluginInfo.excerpt : null,
+              plugin.isActive()
+                  ? Constants.JENKINS_PLUGIN_STATUS_ACTIVE
+                  : Constants.JENKINS_PLUGIN_STATUS_INACTIVE,
+              plugin.hasUpdate()));
+    }
+
+    this.activePluginVersions = Collections.unmodifiableMap(versions);
+    this.pluginStatuses = Collections.unmodifiableList(statuses);
+  }
+
+  /**
+   * Get the snapshot of current plugins, it will be rebuilt if plugins changed
+   *
+   * @return snapshot of plugins
+   */
+  @Nonnull
+  public static PluginInventory get() {
+    Jenkins jenkins = Jenkins.getInstance();
+    String fingerprint = fingerprint(jenkins);
+
+    PluginInventory inventory = current;
+    if (inventory == null || !inventory.fingerprint.equals(fingerprint)) {
+      inventory = new PluginInventory(jenkins, fingerprint);
+      current = inventory;
+    }
+    return inventory;
+  }
+
+  private static String fingerprint(Jenkins jenkins) {
+    PluginManager pluginManager = jenkins.getPluginManager();
+
+    long dataTimestamp = 0;
+    for (UpdateSite site : jenkins.getUpdateCenter().getSites()) {
+      dataTimestamp += site.getDataTimestamp();
+    }
+
+    return pluginManager.getPlugins().size()
+        + ":"
+        + pluginManager.getFailedPlugins().size()
+        + ":"
+        + dataTimestamp;
+  }
+
+  /**
+   * Get version of an active plugin
+   *
+   * @param shortName short name of the plugin
+   * @return version of the plugin, null if the plugin is not installed or not active
+   */
+  @CheckForNull
+  public VersionNumber getVersion(String shortName) {
+    return activePluginVersions.get(shortName);
+  }
+
+  @Nonnull
+  public List<PluginStatus> getPluginStatuses() {
+    return pluginStatuses;
+  }
+
+  /**
+   * Check if the plugins required by template are satisfied, the result of the same dependencies
+   * will be cached in this snapshot
+   *
+   * @param dependencies dependencies of template
+   * @return messages of unsatisfied plugins, empty if all plugins are satisfied
+   */
+  @Nonnull
+  public List<String> checkDependencies(@Nonnull V1alpha1PipelineDependency dependencies) {
+    String dependenciesKey =
+        dependencies
+            .getPlugins()
+            .stream()
+            .map(plugin -> plugin.getName() + "@" + plugin.getVersion())
+            .collect(Collectors.joining(","));
+
+    if (dependencyCheckResults.size() > DEPENDENCY_CHECK_CACHE_SIZE) {
+      dependencyCheckResults.clear();
+    }
+
+    return dependencyCheckResults.computeIfAbsent(
+        dependenciesKey,
+        key -> {
+          List<String> messages = new LinkedList<>();
+          dependencies
+              .getPlugins()
+              .forEach(
+                  plugin -> {
+                    String name = plugin.getName();
+                    String version = plugin.getVersion();
+                    VersionNumber currentNumber = getVersion(name);
+
+                    if (currentNumber == null) {
+                      messages.add(String.format("Lack plugin: %s, version: %s", name, version));
+                    } else if (currentNumber.isOlderThan(new VersionNumber(version))) {
+                      messages.add(
+                          String.format(
+                              "Require plugin: %s, version: %s, found %s",
+                              name, version, currentNumber));
+                    }
+                  });
+          return Collections.unmodifiableList(messages);
+        });
+  }
+
+  /** Status of a single plugin, it is immutable so that it can be shared by snapshot users. */
+  public static final class PluginStatus {
+
+    private final String name;
+    private final String version;
+    private final String description;
+    private final String status;
+    private final boolean updatable;
+
+    PluginStatus(
+        String name, String version, String description, String status, boolean updatable) {
+      this.name = name;
+      this.version = version;
+      this.description = description;
+      this.status = status;
+      this.updatable = updatable;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getVersion() {
+      return version;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    public String getStatus() {
+      return status;
+    }
+
+    public boolean isUpdatable() {
+      return updatable;
+    }
+  }
+}
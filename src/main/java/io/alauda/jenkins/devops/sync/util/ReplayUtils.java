@@ -10,6 +10,7 @@ import hudson.model.Queue;
 import hudson.model.Run;
 import io.alauda.devops.java.client.models.V1alpha1Pipeline;
 import io.alauda.jenkins.devops.sync.JenkinsPipelineCause;
+import io.alauda.jenkins.devops.sync.action.AlaudaQueueAction;
 import io.alauda.jenkins.devops.sync.exception.PipelineException;
 import io.kubernetes.client.models.V1ObjectMeta;
 import java.lang.reflect.Constructor;
@@ -87,6 +88,9 @@ public class ReplayUtils {
             new Cause.UserIdCause(),
             getReplayCause(originalRun),
             new JenkinsPipelineCause(currentPipeline, pipelineConfigUID)));
+    actions.add(
+        new AlaudaQueueAction(
+            namespace, currentPipelineName, currentPipeline.getMetadata().getUid()));
 
     for (Class<? extends Action> c : COPIED_ACTIONS) {
       actions.addAll(originalRun.getActions(c));
@@ -9,6 +9,7 @@ import io.alauda.devops.java.client.utils.DeepCopyUtils;
 import io.alauda.jenkins.devops.sync.JenkinsPipelineCause;
 import io.alauda.jenkins.devops.sync.action.PipelineAction;
 import io.alauda.jenkins.devops.sync.client.Clients;
+import io.alauda.jenkins.devops.sync.client.PipelineClient;
 import io.alauda.jenkins.devops.sync.util.PipelineUtils;
 import java.util.HashMap;
 import java.util.List;
@@ -90,7 +91,7 @@ public class PipelineContext {
   public synchronized Map<String, Object> getData() {
     Map<String, Object> data = new HashMap<>();
     V1alpha1Pipeline pipeline =
-        Clients.get(V1alpha1Pipeline.class).lister().namespace(namespace).get(name);
+        ((PipelineClient) Clients.get(V1alpha1Pipeline.class)).get(namespace, name);
     if (pipeline != null) {
       V1alpha1Pipeline newPipeline = DeepCopyUtils.deepCopy(pipeline);
       mountActionsPipeline(run.getAllActions(), newPipeline);